@@ -0,0 +1,127 @@
+/**
+ * @file BoardTBenchmark.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the JMH benchmarks for the hot paths of BoardT.
+ * @date October 18, 2026
+ */
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import src.BoardT;
+import src.DirectionT;
+
+/**
+* @brief Measures moves, move checks, status, win checks, spawns and construction of BoardT.
+* @details Every benchmark runs for each board size from 4 to 10 and for boards that are
+* sparse (a quarter full), dense (three quarters full) or near full (one empty cell). Since
+* moves and spawns change the board, each call starts from a copy of the same template board,
+* and the copy benchmark gives the cost of that copy on its own. The template is never asked
+* for its status, so the copies have to work out their legal moves again each time.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardTBenchmark {
+    @Param({"4", "5", "6", "7", "8", "9", "10"})
+    public int size;
+
+    @Param({"sparse", "dense", "nearFull"})
+    public String fill;
+
+    private BoardT template;
+    private BoardT board;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int cells = size * size;
+        int tiles;
+        if (fill.equals("sparse"))
+            tiles = cells / 4;
+        else if (fill.equals("dense"))
+            tiles = cells * 3 / 4;
+        else
+            tiles = cells - 1;
+        //Finds a board with the wanted number of tiles that can still move every way, so that
+        //each move benchmark does real work
+        do {
+            template = new BoardT(size, 2);
+            for (int i = 2; i < tiles; i++) {
+                template.addCell();
+            }
+        } while (template.copy().getLegalMoves() != 0xF);
+        board = template.copy();
+    }
+
+    @Benchmark
+    public long copy() {
+        board.copyFrom(template);
+        return board.getScore();
+    }
+
+    @Benchmark
+    public long moveUp() {
+        return move(DirectionT.Up);
+    }
+
+    @Benchmark
+    public long moveDown() {
+        return move(DirectionT.Down);
+    }
+
+    @Benchmark
+    public long moveRight() {
+        return move(DirectionT.Right);
+    }
+
+    @Benchmark
+    public long moveLeft() {
+        return move(DirectionT.Left);
+    }
+
+    @Benchmark
+    public void canMove(Blackhole hole) {
+        board.copyFrom(template);
+        hole.consume(board.canMove(DirectionT.Up));
+        hole.consume(board.canMove(DirectionT.Down));
+        hole.consume(board.canMove(DirectionT.Right));
+        hole.consume(board.canMove(DirectionT.Left));
+    }
+
+    @Benchmark
+    public boolean getStatus() {
+        board.copyFrom(template);
+        return board.getStatus();
+    }
+
+    @Benchmark
+    public boolean hasWon() {
+        board.copyFrom(template);
+        return board.hasWon();
+    }
+
+    @Benchmark
+    public int addCell() {
+        board.copyFrom(template);
+        board.addCell();
+        return board.getEmptyCount();
+    }
+
+    @Benchmark
+    public BoardT construct() {
+        return new BoardT(size, 2);
+    }
+
+    private long move(DirectionT direction) {
+        board.copyFrom(template);
+        board.move(direction);
+        return board.getScore();
+    }
+}
@@ -0,0 +1,273 @@
+/**
+ * @file AnsiRenderer.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a renderer that redraws only the parts of the board that changed.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+* @brief Draws the score and board in the same layout as UserInterface, using ANSI cursor addressing.
+* @details The first frame of a game clears the screen and draws everything, under a header such as
+* the welcome and controls so that those stay on the screen. Every frame after that only moves the
+* cursor to the cells and score that changed and writes those. Status messages go on a line of their
+* own below the board, which frames leave alone until the board changes, and the cursor is left on
+* the line after that for input. Each frame is built in one reusable byte buffer from cell texts
+* cached for every tile, and reaches the stream in a single write.
+*/
+public class AnsiRenderer {
+    private static final byte[] CLEAR = "\033[H\033[2J".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SCORE = "Score: ".getBytes(StandardCharsets.US_ASCII);
+    //The width of the text of a cell, and of a cell with the bar after it
+    private static final int CELL = 5;
+    private static final int STRIDE = CELL + 1;
+
+    private final OutputStream out;
+    private byte[] buffer = new byte[4096];
+    private int length;
+    //The padded text of the tile of each exponent, for the number it was made for
+    private byte[][] cellText = new byte[0][];
+    private int textNumber;
+    //What the screen shows, where drawn is null until the first frame of a board
+    private BoardT model;
+    private int[] drawn;
+    private long score;
+    //The text drawn above the score, the number of lines it takes, and whether a message is showing
+    private byte[] header = new byte[0];
+    private int headerLines;
+    private boolean message;
+
+    /**
+     * @brief Constructs the AnsiRenderer object.
+     * @param out The stream of the terminal, which should understand ANSI escape codes.
+     */
+    public AnsiRenderer(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @brief Draws the score and board, only writing what changed since the last frame of the same board.
+     * @param model The game board.
+     */
+    public void render(BoardT model) {
+        int size = model.getSize();
+        if (model.getNumber() != textNumber)
+            cacheText(model.getNumber());
+        length = 0;
+        if (model != this.model || drawn == null || drawn.length != size * size)
+            drawAll(model);
+        else
+            drawChanges(model);
+        //Leaves the cursor on the cleared line after the message, where input is typed
+        cursor(headerLines + size + 5, 1);
+        put("\033[K");
+        flush();
+    }
+
+    /**
+     * @brief Shows a status message on the line below the board, in place of the last one.
+     * @details The message stays until a frame changes the board. Before the first frame of a board
+     * the message is printed as a line of its own.
+     * @param text The message, on one line.
+     */
+    public void message(String text) {
+        length = 0;
+        if (drawn == null) {
+            put(text);
+            put('\n');
+        }
+        else {
+            int size = model.getSize();
+            cursor(headerLines + size + 4, 1);
+            put(text);
+            put("\033[K");
+            cursor(headerLines + size + 5, 1);
+            put("\033[K");
+            this.message = true;
+        }
+        flush();
+    }
+
+    /**
+     * @brief Sets the text drawn above the score whenever the whole frame is drawn.
+     * @param text The text, where every line ends in a newline.
+     */
+    public void setHeader(String text) {
+        this.header = text.getBytes(StandardCharsets.US_ASCII);
+        this.headerLines = 0;
+        for (byte b : header) {
+            if (b == '\n')
+                headerLines++;
+        }
+        this.drawn = null;
+    }
+
+    /**
+     * @brief Makes the next frame clear the screen and draw everything, for when other output has moved the board.
+     */
+    public void reset() {
+        this.drawn = null;
+    }
+
+    //Clears the screen and draws the whole frame, in the layout of UserInterface
+    private void drawAll(BoardT model) {
+        int size = model.getSize();
+        this.model = model;
+        this.drawn = new int[size * size];
+        this.message = false;
+        put(CLEAR);
+        put(header);
+        put(SCORE);
+        putNumber(model.getScore());
+        put('\n');
+        border(size);
+        for (int i = 0; i < size; i++) {
+            put("||");
+            for (int j = 0; j < size; j++) {
+                int exponent = model.getExponent(i, j);
+                drawn[i * size + j] = exponent;
+                put(text(exponent));
+                if (j != size - 1)
+                    put('|');
+            }
+            put("||\n");
+        }
+        border(size);
+        this.score = model.getScore();
+    }
+
+    //Draws the score and the cells that are different from what the screen shows
+    private void drawChanges(BoardT model) {
+        int size = model.getSize();
+        int start = length;
+        if (model.getScore() != score) {
+            score = model.getScore();
+            cursor(headerLines + 1, SCORE.length + 1);
+            putNumber(score);
+            put("\033[K");
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int exponent = model.getExponent(i, j);
+                if (drawn[i * size + j] != exponent) {
+                    drawn[i * size + j] = exponent;
+                    //The score takes the line after the header and a border the next, and every row
+                    //starts with a double bar
+                    cursor(headerLines + i + 3, j * STRIDE + 3);
+                    put(text(exponent));
+                }
+            }
+        }
+        //A message is about the board it was shown with, so it goes once the board changes
+        if (message && length != start) {
+            cursor(headerLines + size + 4, 1);
+            put("\033[K");
+            message = false;
+        }
+    }
+
+    //Writes the buffer to the stream in one go
+    private void flush() {
+        try {
+            out.write(buffer, 0, length);
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Draws the solid line above and below the board
+    private void border(int size) {
+        put("||");
+        for (int i = 0; i < size - 1; i++) {
+            put("||||||");
+        }
+        put("|||||||\n");
+    }
+
+    //Gets the cached text of a tile, caching more tiles when a larger one turns up
+    private byte[] text(int exponent) {
+        if (exponent >= cellText.length)
+            cacheText(textNumber, exponent + 1);
+        return cellText[exponent];
+    }
+
+    //Caches the text of the tiles of a new number
+    private void cacheText(int number) {
+        cacheText(number, 16);
+    }
+
+    //Makes the text of every tile below an exponent, padded to the width of a cell as UserInterface pads it
+    private void cacheText(int number, int exponents) {
+        this.textNumber = number;
+        this.cellText = new byte[Math.max(exponents, 16)][];
+        cellText[0] = "     ".getBytes(StandardCharsets.US_ASCII);
+        for (int k = 1; k < cellText.length; k++) {
+            StringBuilder cell = new StringBuilder().append((long) number << (k - 1));
+            while (cell.length() < CELL) {
+                cell.append(' ');
+            }
+            cellText[k] = cell.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    //Moves the cursor to a line and column, both counted from 1
+    private void cursor(int line, int column) {
+        put("\033[");
+        putNumber(line);
+        put(';');
+        putNumber(column);
+        put('H');
+    }
+
+    //Writes a number in decimal without making a string of it
+    private void putNumber(long value) {
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        long scale = 1;
+        while (scale <= value / 10) {
+            scale *= 10;
+        }
+        for (; scale > 0; scale /= 10) {
+            put((char) ('0' + value / scale % 10));
+        }
+    }
+
+    //Writes text that is known to be ASCII
+    private void put(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            put(text.charAt(i));
+        }
+    }
+
+    //Writes bytes as they are
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    //Writes one ASCII character
+    private void put(char c) {
+        ensure(1);
+        buffer[length++] = (byte) c;
+    }
+
+    //Grows the buffer so that a number of bytes more fit, which only happens on the first large frames
+    private void ensure(int bytes) {
+        if (length + bytes > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, length + bytes)];
+            System.arraycopy(buffer, 0, grown, 0, length);
+            buffer = grown;
+        }
+    }
+}
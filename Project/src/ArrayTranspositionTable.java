@@ -0,0 +1,91 @@
+/**
+ * @file ArrayTranspositionTable.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a fixed-size table of positions that a solver has already searched.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief A TranspositionTable on the heap for a search running on one thread.
+* @details Entries live in parallel primitive arrays indexed by the low bits of the key, so the
+* table never grows past the size it was made with. When two positions share a slot the deeper
+* search is kept, unless the stored entry is left over from an earlier search.
+*/
+public class ArrayTranspositionTable implements TranspositionTable {
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+
+    private final long[] keys;
+    private final double[] values;
+    //The depth of each entry as an unsigned byte, from 0 to 255
+    private final byte[] depths;
+    //The best move of each entry plus one, or 0 for none
+    private final byte[] bests;
+    private final int[] ages;
+    private final int mask;
+    private int age;
+
+    /**
+     * @brief Constructs the ArrayTranspositionTable object.
+     * @param capacity The number of entries, rounded up to a power of two.
+     */
+    public ArrayTranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30))
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity)
+            slots <<= 1;
+        this.keys = new long[slots];
+        this.values = new double[slots];
+        this.depths = new byte[slots];
+        this.bests = new byte[slots];
+        this.ages = new int[slots];
+        this.mask = slots - 1;
+        this.age = 1;
+    }
+
+    @Override
+    public void newSearch() {
+        age++;
+    }
+
+    @Override
+    public double get(long key, int depth) {
+        int slot = slot(key);
+        if (ages[slot] != 0 && keys[slot] == key && (depths[slot] & 0xFF) >= depth)
+            return values[slot];
+        return Double.NaN;
+    }
+
+    @Override
+    public void put(long key, int depth, double value, DirectionT best) {
+        int slot = slot(key);
+        if (ages[slot] == age && keys[slot] != key && (depths[slot] & 0xFF) > depth)
+            return;
+        keys[slot] = key;
+        values[slot] = value;
+        depths[slot] = (byte) depth;
+        bests[slot] = (byte) (best == null ? 0 : best.ordinal() + 1);
+        ages[slot] = age;
+    }
+
+    @Override
+    public DirectionT getBest(long key) {
+        int slot = slot(key);
+        if (ages[slot] != 0 && keys[slot] == key && bests[slot] != 0)
+            return DIRECTIONS[bests[slot] - 1];
+        return null;
+    }
+
+    @Override
+    public int capacity() {
+        return keys.length;
+    }
+
+    //Finds the slot of a key, mixing the high bits in since packed boards keep most of their tiles there
+    int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * @file BitBoard.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the packed 64-bit engine used by BoardT for the classic 4x4 board.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief A packed representation of a 4x4 board held in a single long.
+* @details Each cell is a 4-bit nibble holding the exponent of its tile, where 0 is an empty
+* cell and k is the tile number * 2^(k-1). Cell (i, j) is nibble 4*i + j, so every row is one
+* 16-bit chunk of the long. Every possible row is moved once up front into 65,536-entry tables,
+* which turns a move into four table lookups per direction.
+*/
+final class BitBoard {
+    /** The largest exponent that fits in a nibble. */
+    static final int MAX_EXPONENT = 15;
+
+    private static final long ROW_MASK = 0xFFFFL;
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+
+    //Rows after sliding toward column 0 and toward column 3
+    private static final char[] ROW_LEFT = new char[65536];
+    private static final char[] ROW_RIGHT = new char[65536];
+    //Score gained by a row moving left (or right), in multiples of the base number
+    private static final int[] ROW_SCORE = new int[65536];
+
+    static {
+        byte[] line = new byte[4];
+        int[] log = new int[4];
+        for (int row = 0; row < 65536; row++) {
+            for (int j = 0; j < 4; j++) {
+                line[j] = (byte) ((row >>> (4 * j)) & 0xF);
+            }
+            //Tiles at the largest exponent cannot merge as the result would not fit in a nibble, which
+            //BoardT never runs into as it moves a board off the packed long before such a tile appears
+            int gain = (int) LineKernel.gain(log, LineKernel.slide(line, 0, 1, 4, MAX_EXPONENT, log));
+            int left = 0;
+            for (int j = 0; j < 4; j++) {
+                left |= line[j] << (4 * j);
+            }
+            ROW_LEFT[row] = (char) left;
+            ROW_SCORE[row] = gain;
+            //Moving right is moving the mirrored row left
+            ROW_RIGHT[reverseRow(row)] = (char) reverseRow(left);
+        }
+    }
+
+    private BitBoard() {}
+
+    /**
+     * @brief Moves a packed board in a given direction.
+     * @param board The packed board.
+     * @param direction The direction that the board is to be moved in.
+     * @return The packed board after the move.
+     */
+    static long move(long board, DirectionT direction) {
+        if (direction == DirectionT.Left)
+            return moveRows(board, ROW_LEFT);
+        else if (direction == DirectionT.Right)
+            return moveRows(board, ROW_RIGHT);
+        else if (direction == DirectionT.Up)
+            return transpose(moveRows(transpose(board), ROW_LEFT));
+        else
+            return transpose(moveRows(transpose(board), ROW_RIGHT));
+    }
+
+    /**
+     * @brief Determines the score a move would gain.
+     * @param board The packed board.
+     * @param direction The direction that the board is to be moved in.
+     * @return The score gained, in multiples of the base number.
+     */
+    static int scoreGain(long board, DirectionT direction) {
+        if (direction == DirectionT.Up || direction == DirectionT.Down)
+            board = transpose(board);
+        int gain = 0;
+        for (int i = 0; i < 4; i++) {
+            int row = (int) ((board >>> (16 * i)) & ROW_MASK);
+            //A row scores the same amount in both directions, so only the left table is kept
+            gain += ROW_SCORE[direction == DirectionT.Left || direction == DirectionT.Up ? row : reverseRow(row)];
+        }
+        return gain;
+    }
+
+    /**
+     * @brief Moves a packed board in all four directions at once.
+     * @details The board is transposed once for both column moves, and each score is worked out once
+     * for both moves along the same axis, since a line scores the same moving either way.
+     * @param board The packed board.
+     * @param moved The board after each move, indexed by DirectionT ordinal.
+     * @param gains The score each move gains in multiples of the base number, indexed the same way.
+     * @return A bitmask with bit d.ordinal() set for every DirectionT d that changes the board.
+     */
+    static int moveAll(long board, long[] moved, long[] gains) {
+        long columns = transpose(board);
+        int rowGain = 0;
+        int columnGain = 0;
+        for (int i = 0; i < 4; i++) {
+            rowGain += ROW_SCORE[(int) ((board >>> (16 * i)) & ROW_MASK)];
+            columnGain += ROW_SCORE[(int) ((columns >>> (16 * i)) & ROW_MASK)];
+        }
+        moved[DirectionT.Up.ordinal()] = transpose(moveRows(columns, ROW_LEFT));
+        moved[DirectionT.Down.ordinal()] = transpose(moveRows(columns, ROW_RIGHT));
+        moved[DirectionT.Right.ordinal()] = moveRows(board, ROW_RIGHT);
+        moved[DirectionT.Left.ordinal()] = moveRows(board, ROW_LEFT);
+        int moves = 0;
+        for (DirectionT direction : DIRECTIONS) {
+            int d = direction.ordinal();
+            gains[d] = direction == DirectionT.Up || direction == DirectionT.Down ? columnGain : rowGain;
+            if (moved[d] != board)
+                moves |= 1 << d;
+        }
+        return moves;
+    }
+
+    /**
+     * @brief Determines if a packed board can be moved in a certain direction.
+     * @param board The packed board.
+     * @param direction The direction the board is to be moved in.
+     * @return Whether the board changes when moved in the given direction.
+     */
+    static boolean canMove(long board, DirectionT direction) {
+        return move(board, direction) != board;
+    }
+
+    /**
+     * @brief Finds every direction a packed board can be moved in.
+     * @param board The packed board.
+     * @return A bitmask with bit d.ordinal() set for every DirectionT d that changes the board.
+     */
+    static int legalMoves(long board) {
+        long columns = transpose(board);
+        int moves = 0;
+        if (moveRows(columns, ROW_LEFT) != columns)
+            moves |= 1 << DirectionT.Up.ordinal();
+        if (moveRows(columns, ROW_RIGHT) != columns)
+            moves |= 1 << DirectionT.Down.ordinal();
+        if (moveRows(board, ROW_RIGHT) != board)
+            moves |= 1 << DirectionT.Right.ordinal();
+        if (moveRows(board, ROW_LEFT) != board)
+            moves |= 1 << DirectionT.Left.ordinal();
+        return moves;
+    }
+
+    /**
+     * @brief Gets the exponent at a position of a packed board.
+     * @param board The packed board.
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The exponent of the cell, 0 when it is empty.
+     */
+    static int get(long board, int x, int y) {
+        return (int) ((board >>> (4 * (4 * x + y))) & 0xF);
+    }
+
+    /**
+     * @brief Sets the exponent at a position of a packed board.
+     * @param board The packed board.
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @param exponent The new exponent of the cell.
+     * @return The packed board with the cell replaced.
+     */
+    static long set(long board, int x, int y, int exponent) {
+        int shift = 4 * (4 * x + y);
+        return (board & ~(0xFL << shift)) | ((long) exponent << shift);
+    }
+
+    /**
+     * @brief Counts the empty cells of a packed board.
+     * @param board The packed board.
+     * @return The number of nibbles that are zero.
+     */
+    static int countEmpty(long board) {
+        return Long.bitCount(emptyMask(board));
+    }
+
+    /**
+     * @brief Finds the nibble index of the n-th empty cell.
+     * @param board The packed board.
+     * @param n The index of the empty cell, counting from cell (0, 0).
+     * @return The nibble index (4*row + column) of the empty cell.
+     */
+    static int nthEmpty(long board, int n) {
+        long empty = emptyMask(board);
+        for (int i = 0; i < n; i++) {
+            empty &= empty - 1;
+        }
+        return Long.numberOfTrailingZeros(empty) >>> 2;
+    }
+
+    /**
+     * @brief Finds the largest exponent on a packed board.
+     * @param board The packed board.
+     * @return The largest exponent, 0 when the board is empty.
+     */
+    static int maxExponent(long board) {
+        int max = 0;
+        for (; board != 0; board >>>= 4) {
+            max = Math.max(max, (int) (board & 0xF));
+        }
+        return max;
+    }
+
+    /**
+     * @brief Finds the smallest of a packed board and its 7 other rotations and reflections.
+     * @param board The packed board.
+     * @return The same packed board for a board and every board it can be turned or mirrored into.
+     */
+    static long canonical(long board) {
+        long best = Math.min(board, mirror(board));
+        best = Math.min(best, Math.min(flip(board), flip(mirror(board))));
+        long turned = transpose(board);
+        best = Math.min(best, Math.min(turned, mirror(turned)));
+        return Math.min(best, Math.min(flip(turned), flip(mirror(turned))));
+    }
+
+    //Reverses the order of the columns of every row
+    private static long mirror(long x) {
+        x = ((x & 0x00FF00FF00FF00FFL) << 8) | ((x >>> 8) & 0x00FF00FF00FF00FFL);
+        return ((x & 0x0F0F0F0F0F0F0F0FL) << 4) | ((x >>> 4) & 0x0F0F0F0F0F0F0F0FL);
+    }
+
+    //Reverses the order of the rows
+    private static long flip(long x) {
+        x = (x << 32) | (x >>> 32);
+        return ((x & 0x0000FFFF0000FFFFL) << 16) | ((x >>> 16) & 0x0000FFFF0000FFFFL);
+    }
+
+    //Moves every row of the board through a row table
+    private static long moveRows(long board, char[] table) {
+        long result = 0;
+        for (int i = 0; i < 4; i++) {
+            int shift = 16 * i;
+            result |= (long) table[(int) ((board >>> shift) & ROW_MASK)] << shift;
+        }
+        return result;
+    }
+
+    //Swaps rows and columns so that column moves can reuse the row tables
+    private static long transpose(long x) {
+        long a1 = x & 0xF0F00F0FF0F00F0FL;
+        long a2 = x & 0x0000F0F00000F0F0L;
+        long a3 = x & 0x0F0F00000F0F0000L;
+        long a = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+
+    /**
+     * @brief Marks the empty cells of a packed board.
+     * @param board The packed board.
+     * @return A mask with the lowest bit of every empty nibble set.
+     */
+    static long emptyMask(long board) {
+        long x = board | (board >>> 1);
+        x |= x >>> 2;
+        return ~x & 0x1111111111111111L;
+    }
+
+    //Reverses the order of the four nibbles of a row
+    private static int reverseRow(int row) {
+        return ((row & 0xF) << 12) | ((row & 0xF0) << 4) | ((row >>> 4) & 0xF0) | ((row >>> 12) & 0xF);
+    }
+}
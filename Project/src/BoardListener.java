@@ -0,0 +1,63 @@
+/**
+ * @file BoardListener.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the interface for being told about everything that happens to a BoardT.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief Receives the events of a BoardT it is added to.
+* @details Every method does nothing by default, so a listener only overrides the events it needs.
+* Events are sent on the thread that changed the board, after the change, so the board already
+* shows the result. Positions are a row and a column, and values are tile values rather than exponents.
+*/
+public interface BoardListener {
+    /**
+     * @brief A tile slid to another cell during a move, either into an empty cell or onto a tile it merges with.
+     * @param board The board that was moved.
+     * @param fromX The row the tile was in.
+     * @param fromY The column the tile was in.
+     * @param toX The row the tile ended up in.
+     * @param toY The column the tile ended up in.
+     * @param value The value of the tile before any merge.
+     */
+    default void tileMoved(BoardT board, int fromX, int fromY, int toX, int toY, int value) {
+    }
+
+    /**
+     * @brief Two tiles merged into one during a move.
+     * @param board The board that was moved.
+     * @param x The row of the merged tile.
+     * @param y The column of the merged tile.
+     * @param value The value of the merged tile.
+     * @param scoreDelta The score the merge added.
+     */
+    default void tilesMerged(BoardT board, int x, int y, int value, long scoreDelta) {
+    }
+
+    /**
+     * @brief A new tile was added to the board.
+     * @param board The board the tile was added to.
+     * @param x The row of the new tile.
+     * @param y The column of the new tile.
+     * @param value The value of the new tile.
+     */
+    default void tileSpawned(BoardT board, int x, int y, int value) {
+    }
+
+    /**
+     * @brief The winning tile was reached for the first time.
+     * @param board The board that was won.
+     */
+    default void gameWon(BoardT board) {
+    }
+
+    /**
+     * @brief The board can no longer be moved in any direction.
+     * @param board The board whose game is over.
+     */
+    default void gameOver(BoardT board) {
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * @file BoardSnapshots.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the bulk saving and loading of BoardT snapshots to and from files.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+* @brief Checkpoints whole populations of games in one file.
+* @details A file holds a magic number and the number of boards, followed by the snapshot of each
+* board as written by BoardT.writeSnapshot, every one with its own checksum. Snapshots are packed
+* into a direct buffer and moved through a FileChannel a megabyte at a time.
+*/
+public final class BoardSnapshots {
+    //"SNAP" read as a little-endian int
+    private static final int MAGIC = 0x50414E53;
+    private static final int FILE_HEADER = 4 + 8;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private BoardSnapshots() {
+    }
+
+    /**
+     * @brief Saves boards to a file, replacing anything already in it.
+     * @param path The file to save to.
+     * @param boards The boards to save, in the order they are loaded back.
+     * @throws IOException When the file cannot be written.
+     */
+    public static void save(Path path, Collection<BoardT> boards) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putLong(boards.size());
+            for (BoardT board : boards) {
+                int bytes = board.getSnapshotBytes();
+                if (buffer.remaining() < bytes) {
+                    flush(file, buffer);
+                    if (buffer.capacity() < bytes)
+                        buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+                }
+                board.writeSnapshot(buffer);
+            }
+            flush(file, buffer);
+            file.force(false);
+        }
+    }
+
+    /**
+     * @brief Loads every board of a file saved by save.
+     * @param path The file to load from.
+     * @return The boards in the order they were saved, each carrying on where it left off.
+     * @throws IOException When the file cannot be read, or a snapshot in it is cut short or corrupted.
+     */
+    public static List<BoardT> load(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN).flip();
+            fill(file, buffer, FILE_HEADER);
+            if (buffer.getInt() != MAGIC)
+                throw new IOException(path + " is not a snapshot file");
+            long count = buffer.getLong();
+            List<BoardT> boards = new ArrayList<BoardT>((int) Math.min(count, Integer.MAX_VALUE - 8));
+            for (long n = 0; n < count; n++) {
+                //The version and the size of the board are the first two bytes, all that is needed to know the length
+                fill(file, buffer, 2);
+                int bytes;
+                try {
+                    bytes = BoardT.snapshotBytes(buffer.get(buffer.position()), buffer.get(buffer.position() + 1) & 0xFF);
+                }
+                catch (IllegalArgumentException e) {
+                    throw new IOException("Snapshot " + n + " of " + path + " is unreadable", e);
+                }
+                if (buffer.capacity() < bytes) {
+                    ByteBuffer grown = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+                    buffer = grown.put(buffer).flip();
+                }
+                fill(file, buffer, bytes);
+                try {
+                    boards.add(BoardT.readSnapshot(buffer));
+                }
+                catch (IllegalArgumentException e) {
+                    throw new IOException("Snapshot " + n + " of " + path + " is unreadable", e);
+                }
+            }
+            return boards;
+        }
+    }
+
+    //Writes out everything put into the buffer, leaving it empty
+    private static void flush(FileChannel file, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            file.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    //Reads from the file until the buffer has at least a number of bytes left to get
+    private static void fill(FileChannel file, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (file.read(buffer) < 0)
+                throw new IOException("The snapshot file is cut short");
+        }
+        buffer.flip();
+    }
+}
@@ -7,36 +7,178 @@
 
 package src;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
 
 /**
 * @brief An abstract data type for the game state of 2048.
 * @details The game is represented by the board and properties for that board,
-* namely score and status
+* namely score and status. Every cell only holds the exponent of its tile, where 0 is
+* empty and k stands for number * 2^(k-1), so values and score are only worked out when
+* they are asked for. The classic 4x4 board is held as a single packed long and moved
+* through the precomputed tables of BitBoard, every other size is a flat byte array. A 4x4
+* board moves onto the byte array for good once a tile reaches the largest exponent a nibble
+* holds, so that two of those tiles still merge as they do on every other size.
 */
 public class BoardT{
-    private ArrayList<ArrayList<Integer>> board;
+    //The exponents of the board in row order, used for every size other than the classic one
+    private byte[] cells;
+    //The empty cells of the byte array kept as a dense list, and where each cell sits in that list
+    //(-1 when the cell holds a tile), so that a random empty cell can be picked without a scan
+    private int[] empties;
+    private int[] emptySlot;
+    private int emptyCount;
+    //The Zobrist hash of the byte array, kept up to date with every write, and the keys of its size
+    private long hash;
+    private long[] zobrist;
+    //The hash that is the same under every rotation and reflection, once worked out for this position
+    private long canonical;
+    private boolean canonicalKnown;
     private boolean status;
-    private Integer score = 0;
-    private Integer size = 4;
-    private Integer number = 2;
+    private long score = 0;
+    private int size = 4;
+    private int number = 2;
+    //The packed 4x4 board, only used when the board is the classic size and its tiles fit in nibbles
+    private boolean packed;
+    private long bits;
+    //The nested list last handed out, dropped whenever the board changes
+    private ArrayList<ArrayList<Integer>> view;
+    //The largest exponent on the board, and the legal moves worked out since the board last changed
+    private int maxExponent;
+    private int legalMoves;
+    private boolean dirty = true;
+    //Whether EngineMetrics counts what happens to this board, turned off for the boards solvers play out
+    private boolean measured = true;
+    //The stream that every spawn of this board is drawn from
+    private SplitRandom random;
+    //Everyone told about the changes of the board, null while there is no one, the tiles of a packed
+    //board laid out as bytes to be slid for them, and the tiles every move of theirs moved
+    private BoardListener[] listeners;
+    private byte[] laidOut;
+    private long[] moveEvents;
+    //Where the slide of the last line sent each tile that left its cell
+    private int[] lineLog;
+    //The packed boards after each move, worked out together by successors
+    private long[] successorBits;
+
+    //The exponent of number * 1024, the tile that wins the game
+    static final int WIN_EXPONENT = 11;
+
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+
+    /** The chance that a new tile is double the base number rather than the base number. */
+    public static final double DOUBLE_SPAWN_CHANCE = 0.1;
+    //The exponents of the two tiles that can spawn, the base number and double it
+    static final int SPAWN_EXPONENT = 1;
+    static final int DOUBLE_SPAWN_EXPONENT = 2;
+
+    /** The version of the snapshot format written by writeSnapshot. */
+    public static final byte SNAPSHOT_VERSION = 1;
+    //The version written instead for a 4x4 board that has outgrown its packed long
+    private static final byte UNPACKED_SNAPSHOT_VERSION = 2;
+    //The version, size, number, score and random state at the start of every snapshot
+    private static final int SNAPSHOT_HEADER = 1 + 1 + 4 + 8 + 8 + 8;
 
     /**
      * @brief Contructs the BoardT object.
+     * @details Spawns are drawn from a new stream split from the generator of the calling thread.
      * @param gameSize The square board dimensions of the game
      * @param gameNumber The base game number to be played with
      */
     public BoardT(int gameSize, int gameNumber) {
+        this(gameSize, gameNumber, SplitRandom.forThread());
+    }
+
+    /**
+     * @brief Contructs the BoardT object with a seed, so that the game can be replayed exactly.
+     * @param gameSize The square board dimensions of the game
+     * @param gameNumber The base game number to be played with
+     * @param seed The seed of the spawns of the game
+     */
+    public BoardT(int gameSize, int gameNumber, long seed) {
+        this(gameSize, gameNumber, new SplitRandom(seed));
+    }
+
+    /**
+     * @brief Contructs the BoardT object with a given source of spawns.
+     * @param gameSize The square board dimensions of the game
+     * @param gameNumber The base game number to be played with
+     * @param random The generator every spawn is drawn from, which the board takes over
+     */
+    public BoardT(int gameSize, int gameNumber, SplitRandom random) {
+        this(gameSize, gameNumber, random, 2);
+    }
+
+    //Makes a board that starts with a number of spawned tiles, none for a board to be filled in by hand
+    BoardT(int gameSize, int gameNumber, SplitRandom random, int tiles) {
         this.size = gameSize;
         this.number = gameNumber;
+        this.random = random;
         this.status = true;
-        this.board = new ArrayList<ArrayList<Integer>>();
-        ArrayList<Integer> emptyArr = emptyArray();
-        for (int i = 0; i < size; i++) {
-            this.board.add(emptyArr);
+        this.packed = (gameSize == 4);
+        if (!packed) {
+            allocateCells();
+            for (int i = 0; i < cells.length; i++) {
+                empties[i] = i;
+                emptySlot[i] = i;
+            }
+            this.emptyCount = cells.length;
         }
-        addCell();
-        addCell();
+        for (int t = 0; t < tiles; t++) {
+            addCell();
+        }
+    }
+
+    //Copies every part of the state of another board, including where its stream of spawns is up to
+    private BoardT(BoardT other) {
+        this.size = other.size;
+        this.number = other.number;
+        this.random = other.random.copy();
+        this.measured = other.measured;
+        copyFrom(other);
+    }
+
+    /**
+     * @brief Copies the BoardT object.
+     * @details The copy is independent of this board, and costs a few primitive array copies at most.
+     * It gets a copy of the random stream too, so it spawns the same tiles as this board would.
+     * @return A new board in the same state as this one.
+     */
+    public BoardT copy() {
+        return new BoardT(this);
+    }
+
+    /**
+     * @brief Overwrites this board with the state of another board of the same size and number.
+     * @details Reuses the arrays of this board, so playing many games from one position allocates nothing.
+     * This board keeps its own random stream, so each game played from the same position spawns differently.
+     * @param other The board to be copied.
+     */
+    public void copyFrom(BoardT other) {
+        if (other.size != size || other.number != number)
+            throw new IllegalArgumentException("Boards must have the same size and number");
+        this.status = other.status;
+        this.score = other.score;
+        this.bits = other.bits;
+        this.packed = other.packed;
+        if (!packed) {
+            if (cells == null)
+                allocateCells();
+            System.arraycopy(other.cells, 0, cells, 0, cells.length);
+            System.arraycopy(other.empties, 0, empties, 0, cells.length);
+            System.arraycopy(other.emptySlot, 0, emptySlot, 0, cells.length);
+            this.emptyCount = other.emptyCount;
+            this.hash = other.hash;
+        }
+        this.canonical = other.canonical;
+        this.canonicalKnown = other.canonicalKnown;
+        this.maxExponent = other.maxExponent;
+        this.legalMoves = other.legalMoves;
+        this.dirty = other.dirty;
+        this.view = null;
     }
 
     /**
@@ -44,14 +186,66 @@ public class BoardT{
      * @return The board of the game.
      */
     public ArrayList<ArrayList<Integer>> getBoard() {
-        return this.board;
+        if (view == null)
+            view = boardView();
+        return view;
+    }
+
+    /**
+     * @brief Replaces the stream that spawns are drawn from.
+     * @param random The generator every following spawn is drawn from, which the board takes over.
+     */
+    public void setRandom(SplitRandom random){
+        this.random = random;
+    }
+
+    /**
+     * @brief Gets the size of the board.
+     * @return The square board dimensions of the game.
+     */
+    public int getSize(){
+        return this.size;
+    }
+
+    /**
+     * @brief Gets the base number of the game.
+     * @return The base game number being played with.
+     */
+    public int getNumber(){
+        return this.number;
+    }
+
+    /**
+     * @brief Gets the exponent of the tile at a position, without building the board.
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return 0 for an empty cell, or k for a tile of number * 2^(k-1).
+     */
+    public int getExponent(int x, int y){
+        return getCell(x, y);
+    }
+
+    /**
+     * @brief Gets the exponent of the largest tile on the board.
+     * @return 0 for an empty board, or k for a largest tile of number * 2^(k-1).
+     */
+    public int getMaxExponent(){
+        return this.maxExponent;
+    }
+
+    /**
+     * @brief Gets the number of empty cells on the board.
+     * @return The number of cells without a tile.
+     */
+    public int getEmptyCount(){
+        return packed ? BitBoard.countEmpty(bits) : emptyCount;
     }
 
     /**
      * @brief Gets the current score of the game.
      * @return The score of the game.
      */
-    public int getScore(){
+    public long getScore(){
         return this.score;
     }
 
@@ -60,20 +254,263 @@ public class BoardT{
      * @return The status of the game.
      */
     public boolean getStatus(){
+        if (EngineMetrics.enabled && measured) {
+            long start = System.nanoTime();
+            this.status = isPlayable();
+            EngineMetrics.status(System.nanoTime() - start);
+            return this.status;
+        }
         this.status = isPlayable();
         return this.status;
     }
 
+    /**
+     * @brief Gets every direction the board can currently be moved in.
+     * @details The moves are worked out in a single sweep of the board and kept until the board changes.
+     * @return A bitmask with bit d.ordinal() set for every DirectionT d that the board can be moved in.
+     */
+    public int getLegalMoves(){
+        if (dirty) {
+            this.legalMoves = packed ? BitBoard.legalMoves(bits) : sweepLegalMoves();
+            this.dirty = false;
+        }
+        return this.legalMoves;
+    }
+
     /**
      * @brief Adds a value at an empty position on the board.
+     * @return The cell the tile was added to as row * size + column, or -1 when the board is full.
+     */
+    public int addCell() {
+        if (EngineMetrics.enabled && measured) {
+            long start = System.nanoTime();
+            int cell = spawnRandom();
+            //Only a spawn can leave a board that could move without a move
+            boolean finished = cell >= 0 && getLegalMoves() == 0;
+            EngineMetrics.spawn(cell >= 0, finished, System.nanoTime() - start);
+            return cell;
+        }
+        return spawnRandom();
+    }
+
+    //Spawns a tile with a random exponent in a random empty cell
+    private int spawnRandom() {
+        int cell;
+        if (packed) {
+            int empty = BitBoard.countEmpty(bits);
+            if (empty == 0)
+                return -1;
+            cell = BitBoard.nthEmpty(bits, random.nextInt(empty));
+        }
+        else {
+            if (emptyCount == 0)
+                return -1;
+            cell = empties[random.nextInt(emptyCount)];
+        }
+        spawn(cell / size, cell % size, randomExponent());
+        return cell;
+    }
+
+    /**
+     * @brief Adds a tile of a given exponent at an empty position on the board.
+     * @details Used by solvers to play out each spawn the game could make.
+     * @param x The row of the empty cell.
+     * @param y The column of the empty cell.
+     * @param exponent The exponent of the new tile, 1 for the base number and 2 for double it.
+     */
+    void addCell(int x, int y, int exponent) {
+        spawn(x, y, exponent);
+    }
+
+    /**
+     * @brief Adds a listener that is told about every following change of the board.
+     * @details Copies of the board start without listeners, so solvers working on copies send no events.
+     * While no listener is added the board does no work for events at all.
+     * @param listener The listener to add.
+     */
+    public void addListener(BoardListener listener){
+        BoardListener[] grown = listeners == null ? new BoardListener[1] : Arrays.copyOf(listeners, listeners.length + 1);
+        grown[grown.length - 1] = listener;
+        this.listeners = grown;
+    }
+
+    /**
+     * @brief Removes a listener added with addListener.
+     * @param listener The listener to remove.
      */
-    public void addCell() {
-        ArrayList<Integer> cell = availableCell();
-        if (cell.isEmpty())
+    public void removeListener(BoardListener listener){
+        if (listeners == null)
             return;
-        int x = cell.get(0);
-        int y = cell.get(1);
-        setValue(x,y,randomValue());
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                BoardListener[] shrunk = new BoardListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, shrunk, 0, i);
+                System.arraycopy(listeners, i + 1, shrunk, i, shrunk.length - i);
+                this.listeners = shrunk.length == 0 ? null : shrunk;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @brief Removes every tile and the score from the board, leaving the game playable.
+     * @details Lets a recorded game be replayed into a board that already exists.
+     */
+    void clear() {
+        this.status = true;
+        this.score = 0;
+        this.bits = 0;
+        this.packed = (size == 4);
+        if (cells != null) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = 0;
+                empties[i] = i;
+                emptySlot[i] = i;
+            }
+            this.emptyCount = cells.length;
+            this.hash = 0;
+        }
+        this.maxExponent = 0;
+        changed();
+    }
+
+    //Sets whether EngineMetrics counts the moves, spawns and checks of this board and of its copies,
+    //so that the positions a solver plays out do not count as moves of the game
+    void setMeasured(boolean measured) {
+        this.measured = measured;
+    }
+
+    //Sets the score, for a board rebuilt from the tiles of another representation
+    void setScore(long score) {
+        this.score = score;
+    }
+
+    /**
+     * @brief Gets the number of bytes a snapshot of this board takes up.
+     * @return The length of the snapshot, checksum included.
+     */
+    public int getSnapshotBytes(){
+        return snapshotBytes(packed || size != 4 ? SNAPSHOT_VERSION : UNPACKED_SNAPSHOT_VERSION, size);
+    }
+
+    /**
+     * @brief Writes the whole state of the board into a buffer.
+     * @details The snapshot holds the format version, size, number, score and the state of the random
+     * stream, then the exponents of the board, 8 bytes for the classic board and one byte per cell for
+     * every other size. Other sizes also keep the order of their list of empty cells, since that decides
+     * where the next tile spawns. A 4x4 board whose tiles no longer fit in nibbles is written like the
+     * other sizes under version 2. It ends with a CRC-32C of everything before it, and is always little-endian.
+     * @param buffer The buffer written to from its position, with at least getSnapshotBytes() remaining.
+     */
+    public void writeSnapshot(ByteBuffer buffer){
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int start = buffer.position();
+        buffer.put(packed || size != 4 ? SNAPSHOT_VERSION : UNPACKED_SNAPSHOT_VERSION).put((byte) size).putInt(number).putLong(score);
+        buffer.putLong(random.getSeed()).putLong(random.getGamma());
+        if (packed) {
+            buffer.putLong(bits);
+        }
+        else {
+            buffer.put(cells);
+            boolean wide = cells.length > 256;
+            for (int k = 0; k < cells.length; k++) {
+                int cell = k < emptyCount ? empties[k] : 0;
+                if (wide)
+                    buffer.putShort((short) cell);
+                else
+                    buffer.put((byte) cell);
+            }
+        }
+        buffer.putInt(checksum(buffer, start, buffer.position()));
+        buffer.order(order);
+    }
+
+    /**
+     * @brief Reads a board back from a snapshot written by writeSnapshot.
+     * @details The board carries on exactly where the saved one was, down to the tiles it will spawn next.
+     * @param buffer The buffer read from its position, which is moved past the snapshot.
+     * @return The restored board.
+     * @throws IllegalArgumentException When the snapshot is of another version, cut short or corrupted.
+     */
+    public static BoardT readSnapshot(ByteBuffer buffer){
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int start = buffer.position();
+            if (buffer.remaining() < SNAPSHOT_HEADER)
+                throw new IllegalArgumentException("The snapshot is cut short");
+            byte version = buffer.get(start);
+            int gameSize = buffer.get(start + 1) & 0xFF;
+            int length = snapshotBytes(version, gameSize);
+            if (gameSize == 0 || buffer.remaining() < length)
+                throw new IllegalArgumentException("The snapshot is cut short");
+            if (buffer.getInt(start + length - 4) != checksum(buffer, start, start + length - 4))
+                throw new IllegalArgumentException("The snapshot checksum does not match");
+            buffer.position(start + 2);
+            int gameNumber = buffer.getInt();
+            long gameScore = buffer.getLong();
+            SplitRandom stream = new SplitRandom(buffer.getLong(), buffer.getLong());
+            BoardT board = new BoardT(gameSize, gameNumber, stream, 0);
+            if (version == UNPACKED_SNAPSHOT_VERSION)
+                board.unpack();
+            if (board.packed) {
+                board.bits = buffer.getLong();
+                board.maxExponent = BitBoard.maxExponent(board.bits);
+            }
+            else {
+                board.restoreCells(buffer);
+            }
+            board.score = gameScore;
+            buffer.position(start + length);
+            return board;
+        }
+        finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * @brief Gets a 64-bit key for the position of the board.
+     * @details The packed 4x4 board is its own key, other sizes use the Zobrist hash they keep up to date.
+     * @return The key of the tiles on the board, ignoring score.
+     */
+    long key() {
+        return packed ? bits : hash;
+    }
+
+    /**
+     * @brief Determines whether the board is held as a packed long, which key() then is.
+     * @return True for a 4x4 board whose tiles all fit in nibbles.
+     */
+    boolean isPacked() {
+        return packed;
+    }
+
+    /**
+     * @brief Gets the hash of the tiles on the board, which costs nothing to read.
+     * @details The classic 4x4 board is its own hash, so two of them only share a hash when they are
+     * the same. Every other size has the Zobrist hash of its exponents, updated with each tile written.
+     * @return The hash of the position, ignoring score.
+     */
+    public long getHash(){
+        return key();
+    }
+
+    /**
+     * @brief Gets a hash of the position shared by all 8 rotations and reflections of the board.
+     * @details Turned and mirrored boards play out the same up to the direction of each move, so caches
+     * keyed by this hash hold one entry for all of them. The classic 4x4 board gives the smallest of its
+     * 8 packed forms, other sizes the smallest of their 8 Zobrist hashes, worked out in one pass over the
+     * board the first time it is asked for after a change.
+     * @return The canonical hash of the position, ignoring score.
+     */
+    public long getCanonicalHash(){
+        if (!canonicalKnown) {
+            canonical = packed ? BitBoard.canonical(bits) : Zobrist.canonical(zobrist, cells, size);
+            canonicalKnown = true;
+        }
+        return canonical;
     }
 
     /**
@@ -82,30 +519,70 @@ public class BoardT{
      * @return Whether the board can be moved in the given direction.
      */
     public boolean canMove(DirectionT direction){
-        for (int i = 0; i < size; i++){
-            for (int j = 0; j < size; j++){
-                int value = getCell(i,j);
-                if (value != 0){
-                    if (direction == DirectionT.Up) {
-                        if (up(i, j) == value || up(i, j) == 0)
-                            return true;
-                    }
-                    if (direction == DirectionT.Down) {
-                        if (down(i, j) == value || down(i, j) == 0)
-                            return true;
-                    }
-                    if (direction == DirectionT.Left) {
-                        if (left(i, j) == value || left(i, j) == 0)
-                            return true;
-                    }
-                    if (direction == DirectionT.Right) {
-                        if (right(i, j) == value || right(i, j) == 0)
-                            return true;
-                    }
-                }
+        boolean legal = (getLegalMoves() & (1 << direction.ordinal())) != 0;
+        if (!legal && EngineMetrics.enabled && measured)
+            EngineMetrics.rejected();
+        return legal;
+    }
+
+    /**
+     * @brief Works out the board after every legal move at once, before any tile spawns.
+     * @details The classic board moves all four ways through the tables of BitBoard with a single
+     * transpose, other sizes find their legal moves in one sweep and only copy and move for those.
+     * Nothing is allocated once the buffers are filled, so searches can pass the same ones at every
+     * node of a depth. The successors are not watched by the listeners of this board or measured,
+     * and keep their own random streams.
+     * @param into The boards written to, indexed by DirectionT ordinal, of the same size and number
+     * as this board. Null entries are filled with copies of this board the first time they are needed.
+     * The entries of illegal moves are left as they were.
+     * @param gains The score each move gains, indexed by DirectionT ordinal, and 0 for illegal moves.
+     * @return A bitmask with bit d.ordinal() set for every DirectionT d that changes the board.
+     */
+    public int successors(BoardT[] into, long[] gains){
+        if (into.length < 4 || gains.length < 4)
+            throw new IllegalArgumentException("There must be room for all 4 directions");
+        int moves;
+        if (packed) {
+            if (successorBits == null)
+                successorBits = new long[4];
+            moves = BitBoard.moveAll(bits, successorBits, gains);
+            if (dirty) {
+                this.legalMoves = moves;
+                this.dirty = false;
+            }
+        }
+        else {
+            moves = getLegalMoves();
+        }
+        for (int d = 0; d < 4; d++) {
+            if ((moves & (1 << d)) == 0) {
+                gains[d] = 0;
+                continue;
+            }
+            BoardT child = into[d];
+            if (child == null) {
+                child = copy();
+                child.measured = false;
+                into[d] = child;
+            }
+            else {
+                child.copyFrom(this);
+            }
+            if (packed) {
+                gains[d] *= number;
+                child.score += gains[d];
+                child.bits = successorBits[d];
+                child.maxExponent = BitBoard.maxExponent(child.bits);
+                child.changed();
+                if (child.maxExponent >= BitBoard.MAX_EXPONENT)
+                    child.unpack();
+            }
+            else {
+                child.moveBoard(DIRECTIONS[d]);
+                gains[d] = child.score - score;
             }
         }
-        return false;
+        return moves;
     }
 
     /**
@@ -113,15 +590,7 @@ public class BoardT{
      * @return The win status of the game.
      */
     public boolean hasWon() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                int value = getCell(i,j);
-                if (value >= number*1024) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return maxExponent >= WIN_EXPONENT;
     }
 
     /**
@@ -129,248 +598,446 @@ public class BoardT{
      * @param direction The direction that the game is to be moved in.
      */
     public void move(DirectionT direction){
+        if (EngineMetrics.enabled && measured) {
+            measuredMove(direction);
+            return;
+        }
+        if (listeners != null)
+            announcedMove(direction);
+        else
+            moveBoard(direction);
+    }
+
+    //Makes a move while counting its merges, which are the tiles it took off the board, and timing it
+    private void measuredMove(DirectionT direction){
+        long start = System.nanoTime();
+        long before = this.score;
+        int empty = getEmptyCount();
+        if (listeners != null)
+            announcedMove(direction);
+        else
+            moveBoard(direction);
+        long nanos = System.nanoTime() - start;
+        EngineMetrics.move(direction, getEmptyCount() - empty, this.score - before, nanos);
+    }
+
+    //Moves the packed board through the tables of BitBoard, and every other board one line at a time
+    private void moveBoard(DirectionT direction){
+        if (packed) {
+            this.score += (long) number * BitBoard.scoreGain(bits, direction);
+            long moved = BitBoard.move(bits, direction);
+            if (moved != bits) {
+                bits = moved;
+                maxExponent = BitBoard.maxExponent(bits);
+                changed();
+                if (maxExponent >= BitBoard.MAX_EXPONENT)
+                    unpack();
+            }
+            return;
+        }
+        LineCache cache = size <= LineCache.MAX_CELLS ? LineCache.forThread(size) : null;
         if (direction == DirectionT.Up){
-            moveUp();
+            moveUp(cache);
         }
         else if (direction == DirectionT.Down){
-            moveDown();
+            moveDown(cache);
         }
         else if (direction == DirectionT.Right){
-            moveRight();
+            moveRight(cache);
         }
         else if (direction == DirectionT.Left){
-            moveLeft();
+            moveLeft(cache);
         }
     }
 
-    //This method determines if the game is still playable if the a move can be made in any direction
-    private boolean isPlayable(){
-        if (canMove(DirectionT.Up))
-            return true;
-        else if (canMove(DirectionT.Down))
-            return true;
-        else if (canMove(DirectionT.Right))
-            return true;
-        else if (canMove(DirectionT.Left))
-            return true;
-        return false;
-    }
-
-    //This method moves the board up by iterating through all the values and shifting them if the value above them is
-    //0 or the same value, the cells that are merged are kept track of as well
-    private void moveUp(){
-        ArrayList<ArrayList<Integer>> merged = new ArrayList<ArrayList<Integer>>();
-        for (int h = 0; h < (size-1); h++) {
-            for (int i = 1; i < size; i++) {
-                for (int j = 0; j < size; j++) {
-                    int value = getCell(i,j);
-                    ArrayList<Integer> pos = new ArrayList<Integer>();
-                    ArrayList<Integer> currPos = new ArrayList<Integer>();
-                    pos.add(i-1);
-                    pos.add(j);
-                    currPos.add(i);
-                    currPos.add(j);
-                    if (value != 0) {
-                        if (up(i, j) == 0) {
-                            int sum = value + up(i, j);
-                            setValue(i - 1, j, sum);
-                            setValue(i, j, 0);
-                        } else if (up(i, j) == value && !(merged.contains(pos)) && !(merged.contains(currPos))) {
-                            merged.add(pos);
-                            int sum = value + up(i, j);
-                            this.score += sum;
-                            setValue(i - 1, j, sum);
-                            setValue(i, j, 0);
-                        }
-                    }
-                }
+    //Makes a move one line at a time and then tells the listeners where every tile went, from the logs
+    //of the very slides that moved the board. A packed board is laid out as bytes, slid and packed again
+    private void announcedMove(DirectionT direction){
+        boolean won = hasWon();
+        if (lineLog == null)
+            lineLog = new int[size];
+        if (moveEvents == null)
+            moveEvents = new long[size * size];
+        byte[] line = cells;
+        if (packed) {
+            if (laidOut == null)
+                laidOut = new byte[size * size];
+            for (int cell = 0; cell < laidOut.length; cell++) {
+                laidOut[cell] = (byte) BitBoard.get(bits, cell / size, cell % size);
+            }
+            line = laidOut;
+        }
+        int events = 0;
+        long gain = 0;
+        for (int l = 0; l < size; l++) {
+            int first = lineCell(direction, l, 0);
+            int step = lineCell(direction, l, 1) - first;
+            int ops = LineKernel.slide(line, first, step, size, LineKernel.NO_CAP, lineLog);
+            for (int op = 0; op < ops; op++) {
+                int from = first + LineKernel.from(lineLog[op]) * step;
+                int to = first + LineKernel.to(lineLog[op]) * step;
+                moveEvents[events++] = (long) lineLog[op] << 32 | (long) to << 16 | from;
+            }
+            if (packed)
+                gain += LineKernel.gain(lineLog, ops);
+            else
+                settle(first, step, ops);
+        }
+        if (packed && events > 0) {
+            long moved = 0;
+            for (int cell = 0; cell < laidOut.length; cell++) {
+                moved |= (long) laidOut[cell] << (4 * cell);
+            }
+            this.bits = moved;
+            this.score += (long) number * gain;
+            this.maxExponent = BitBoard.maxExponent(bits);
+            changed();
+            if (maxExponent >= BitBoard.MAX_EXPONENT)
+                unpack();
+        }
+        BoardListener[] told = listeners;
+        for (int e = 0; e < events; e++) {
+            int from = (int) (moveEvents[e] & 0xFFFF);
+            int to = (int) ((moveEvents[e] >>> 16) & 0xFFFF);
+            int op = (int) (moveEvents[e] >>> 32);
+            int value = LineKernel.exponent(op);
+            for (BoardListener listener : told) {
+                listener.tileMoved(this, from / size, from % size, to / size, to % size, valueOf(value));
+                if (LineKernel.merged(op))
+                    listener.tilesMerged(this, to / size, to % size, valueOf(value + 1), (long) number << value);
+            }
+        }
+        if (!won && hasWon()) {
+            for (BoardListener listener : told) {
+                listener.gameWon(this);
             }
         }
     }
 
-    //Determines the value of the cell above a given coordinate position in the board
-    private int up(int x, int y){
-        if (x == 0)
-            return -1;
-        else
-            return this.board.get(x-1).get(y);
-    }
-
-    //This method moves the board down by iterating through all the values and shifting them if the value below them is
-    //0 or the same value, the cells that are merged are kept track of as well
-    private void moveDown(){
-        ArrayList<ArrayList<Integer>> merged = new ArrayList<ArrayList<Integer>>();
-        for (int h = 0; h < (size-1); h++) {
-            for (int i = (size-2); i > -1; i--) {
-                for (int j = 0; j < size; j++) {
-                    int value = getCell(i,j);
-                    ArrayList<Integer> pos = new ArrayList<Integer>();
-                    ArrayList<Integer> currPos = new ArrayList<Integer>();
-                    pos.add(i+1);
-                    pos.add(j);
-                    currPos.add(i);
-                    currPos.add(j);
-                    if (value != 0) {
-                        if (down(i, j) == 0) {
-                            int sum = value + down(i, j);
-                            setValue(i + 1, j, sum);
-                            setValue(i, j, 0);
-                        }
-                        else if (down(i, j) == value && !(merged.contains(pos)) && !(merged.contains(currPos))) {
-                            merged.add(pos);
-                            int sum = value + down(i, j);
-                            this.score += sum;
-                            setValue(i + 1, j, sum);
-                            setValue(i, j, 0);
-                        }
-                    }
-                }
+    //Gets the cell at a position along a line, counted from the side that a move slides the tiles toward
+    private int lineCell(DirectionT direction, int line, int k){
+        switch (direction) {
+            case Up:
+                return k * size + line;
+            case Down:
+                return (size-1 - k) * size + line;
+            case Right:
+                return line * size + (size-1 - k);
+            default:
+                return line * size + k;
+        }
+    }
+
+    //Places a new tile, then tells the listeners about it and about the game being won or over.
+    //The cell was empty, so the board could be moved before the spawn and only now can the game end
+    private void spawn(int x, int y, int exponent){
+        if (listeners == null) {
+            setValue(x, y, exponent);
+            return;
+        }
+        boolean won = hasWon();
+        setValue(x, y, exponent);
+        BoardListener[] told = listeners;
+        for (BoardListener listener : told) {
+            listener.tileSpawned(this, x, y, valueOf(exponent));
+        }
+        if (!won && hasWon()) {
+            for (BoardListener listener : told) {
+                listener.gameWon(this);
+            }
+        }
+        if (getLegalMoves() == 0) {
+            for (BoardListener listener : told) {
+                listener.gameOver(this);
             }
         }
     }
 
-    //Determines the value of the cell below a given coordinate position in the board
-    private int down(int x, int y){
-        if (x == (size-1))
-            return -1;
-        else
-            return this.board.get(x+1).get(y);
-    }
-
-    //This method moves the board right by iterating through all the values and shifting them if the value to the right
-    // of them is 0 or the same value, the cells that are merged are kept track of as well
-    private void moveRight(){
-        ArrayList<ArrayList<Integer>> merged = new ArrayList<ArrayList<Integer>>();
-        for (int h = 0; h < (size-1); h++) {
-            for (int i = 0; i < size; i++) {
-                for (int j = (size-2); j > -1; j--) {
-                    int value = getCell(i,j);
-                    ArrayList<Integer> pos = new ArrayList<Integer>();
-                    ArrayList<Integer> currPos = new ArrayList<Integer>();
-                    pos.add(i);
-                    pos.add(j+1);
-                    currPos.add(i);
-                    currPos.add(j);
-                    if (value != 0){
-                        if (right(i, j) == 0) {
-                            int sum = value + right(i, j);
-                            setValue(i, j + 1, sum);
-                            setValue(i, j, 0);
-                        }
-                        else if (right(i, j) == value && !(merged.contains(pos)) && !(merged.contains(currPos))) {
-                            merged.add(pos);
-                            int sum = value + right(i, j);
-                            this.score += sum;
-                            setValue(i, j + 1, sum);
-                            setValue(i, j, 0);
-                        }
-                    }
-                }
+    //This method determines if the game is still playable if the a move can be made in any direction
+    private boolean isPlayable(){
+        return getLegalMoves() != 0;
+    }
+
+    //Finds the legal moves of the byte array by looking at every pair of neighbouring cells once
+    private int sweepLegalMoves(){
+        int moves = 0;
+        int all = 0xF;
+        for (int i = 0; i < size && moves != all; i++) {
+            for (int j = 0; j < size; j++) {
+                int value = cells[i * size + j];
+                if (j + 1 < size)
+                    moves |= pairMoves(value, cells[i * size + j + 1], DirectionT.Right, DirectionT.Left);
+                if (i + 1 < size)
+                    moves |= pairMoves(value, cells[(i + 1) * size + j], DirectionT.Down, DirectionT.Up);
             }
         }
+        return moves;
     }
 
-    //Determines the value of the cell to the right of a given coordinate position in the board
-    private int right(int x, int y){
-        if (y == size-1)
-            return -1;
-        else
-            return this.board.get(x).get(y+1);
-    }
-
-    //This method moves the board left by iterating through all the values and shifting them if the value to the left
-    //of them is 0 or the same value, the cells that are merged are kept track of as well
-    private void moveLeft(){
-        ArrayList<ArrayList<Integer>> merged = new ArrayList<ArrayList<Integer>>();
-        for (int h = 0; h < (size-1); h++) {
-            for (int i = 0; i < size; i++) {
-                for (int j = 1; j < size; j++) {
-                    int value = getCell(i,j);
-                    ArrayList<Integer> pos = new ArrayList<Integer>();
-                    ArrayList<Integer> currPos = new ArrayList<Integer>();
-                    pos.add(i);
-                    pos.add(j-1);
-                    currPos.add(i);
-                    currPos.add(j);
-                    if (value != 0) {
-                        if (left(i, j) == 0) {
-                            int sum = value + left(i, j);
-                            setValue(i, j - 1, sum);
-                            setValue(i, j, 0);
-                        } else if (left(i, j) == value && !(merged.contains(pos)) && !(merged.contains(currPos))) {
-                            merged.add(pos);
-                            int sum = value + left(i, j);
-                            this.score += sum;
-                            setValue(i, j - 1, sum);
-                            setValue(i, j, 0);
-                        }
-                    }
-                }
+    //Determines which of two opposite moves a pair of neighbouring cells allows, where forward
+    //is the direction from the first cell toward the second
+    static int pairMoves(int first, int second, DirectionT forward, DirectionT backward){
+        if (first == 0 && second == 0)
+            return 0;
+        if (first == second)
+            return (1 << forward.ordinal()) | (1 << backward.ordinal());
+        if (second == 0)
+            return 1 << forward.ordinal();
+        if (first == 0)
+            return 1 << backward.ordinal();
+        return 0;
+    }
+
+    //This method moves the board up by sliding every column toward the top row
+    private void moveUp(LineCache cache){
+        for (int j = 0; j < size; j++) {
+            slideLine(j, size, cache);
+        }
+    }
+
+    //This method moves the board down by sliding every column toward the bottom row
+    private void moveDown(LineCache cache){
+        for (int j = 0; j < size; j++) {
+            slideLine((size-1) * size + j, -size, cache);
+        }
+    }
+
+    //This method moves the board right by sliding every row toward the rightmost column
+    private void moveRight(LineCache cache){
+        for (int i = 0; i < size; i++) {
+            slideLine(i * size + (size-1), -1, cache);
+        }
+    }
+
+    //This method moves the board left by sliding every row toward the leftmost column
+    private void moveLeft(LineCache cache){
+        for (int i = 0; i < size; i++) {
+            slideLine(i * size, 1, cache);
+        }
+    }
+
+    //Slides one line of the board through the cache when there is one and the line fits in it
+    private void slideLine(int first, int step, LineCache cache){
+        if (cache == null) {
+            slide(first, step);
+            return;
+        }
+        long key = 0;
+        for (int k = 0, from = first; k < size; k++, from += step) {
+            int value = cells[from];
+            if (value >= LineCache.LIMIT) {
+                slide(first, step);
+                return;
             }
+            key |= (long) value << (k * LineCache.BITS);
+        }
+        int entry = cache.lookup(key);
+        long moved = cache.line(entry);
+        if (moved == key)
+            return;
+        for (int k = 0, to = first; k < size; k++, to += step, moved >>>= LineCache.BITS) {
+            cells[to] = (byte) (moved & 63);
         }
+        //The log the cache kept brings the rest of the board up to date just as sliding would
+        settle(first, step, cache.copyLog(entry, lineLog));
     }
 
-    //Determines the value of the cell to the left of a given coordinate position in the board
-    private int left(int x, int y){
-        if (y == 0)
-            return -1;
-        else
-            return this.board.get(x).get(y-1);
+    //Slides one line of the byte array in place through LineKernel
+    private void slide(int first, int step){
+        settle(first, step, LineKernel.slide(cells, first, step, size, LineKernel.NO_CAP, lineLog));
     }
 
-    //Determines a random empty position in the board from a list of empty positions
-    private ArrayList<Integer> availableCell() {
-        ArrayList<ArrayList<Integer>> positions = getZeroes(this.board);
-        int pos = (int) (Math.random() * (positions.size()));
-        if (positions.isEmpty())
-            return new ArrayList<Integer>();
-        return positions.get(pos);
+    //Brings the hash, the list of empty cells, the score and the largest exponent up to date from the
+    //log of a slide, filling and emptying cells in the order the tiles moved
+    private void settle(int first, int step, int ops){
+        for (int op = 0; op < ops; op++) {
+            int entry = lineLog[op];
+            int value = LineKernel.exponent(entry);
+            int from = first + LineKernel.from(entry) * step;
+            int to = first + LineKernel.to(entry) * step;
+            hash ^= Zobrist.key(zobrist, from, value) ^ Zobrist.key(zobrist, to, value);
+            if (LineKernel.merged(entry)) {
+                hash ^= Zobrist.key(zobrist, to, value + 1);
+                this.score += (long) number << value;
+                maxExponent = Math.max(maxExponent, value + 1);
+            }
+            else {
+                fill(to);
+            }
+            vacate(from);
+        }
+        if (ops > 0)
+            changed();
     }
 
-    //Gets the cell of the board at a given position
+    //Gets the exponent of the board at a given position
     private int getCell(int x, int y){
-        return this.board.get(x).get(y);
+        if (packed)
+            return BitBoard.get(bits, x, y);
+        return this.cells[x * size + y];
     }
 
-    //Sets the value in the board to a given position and value
+    //Sets the exponent in the board to a given position and value
     private void setValue(int x, int y, int val){
-        ArrayList<Integer> e = (ArrayList<Integer>) this.board.get(x).clone();
-        e.set(y, val);
-        this.board.set(x, e);
-    }
-
-    private int randomValue() {
-        return Math.random() < 0.9 ? number : (number * 2);
-    }
-
-    //Returns all the zero positions from a 2D array
-    private static ArrayList<ArrayList<Integer>> getZeroes(ArrayList<ArrayList<Integer>> arr) {
-        ArrayList<ArrayList<Integer>> zeroes = new ArrayList<>();
-        for (int i = 0; i < arr.size(); i++) {
-            for (int j = 0; j < arr.size(); j++) {
-                if ((arr.get(i)).get(j) == 0) {
-                    ArrayList<Integer> position = new ArrayList<Integer>();
-                    position.add(i);
-                    position.add(j);
-                    if (!(zeroes.contains(position)))
-                        zeroes.add(position);
-                }
+        if (packed && val >= BitBoard.MAX_EXPONENT)
+            unpack();
+        if (packed)
+            this.bits = BitBoard.set(bits, x, y, val);
+        else
+            put(x * size + y, val);
+        this.maxExponent = Math.max(maxExponent, val);
+        changed();
+    }
+
+    //Writes an exponent into the byte array, keeping the list of empty cells up to date
+    private void put(int index, int val){
+        if (cells[index] == 0 && val != 0)
+            fill(index);
+        else if (cells[index] != 0 && val == 0)
+            vacate(index);
+        hash ^= Zobrist.key(zobrist, index, cells[index]) ^ Zobrist.key(zobrist, index, val);
+        cells[index] = (byte) val;
+        changed();
+    }
+
+    //The length of the longest snapshot a board of a given size can have, as a 4x4 board may outgrow its packed long
+    static int maxSnapshotBytes(int size){
+        return snapshotBytes(size == 4 ? UNPACKED_SNAPSHOT_VERSION : SNAPSHOT_VERSION, size);
+    }
+
+    //Makes the byte array, its list of empty cells and the Zobrist keys the board is hashed with
+    private void allocateCells(){
+        this.cells = new byte[size * size];
+        this.empties = new int[cells.length];
+        this.emptySlot = new int[cells.length];
+        this.zobrist = Zobrist.keys(size);
+        this.lineLog = new int[size];
+    }
+
+    //Moves a 4x4 board off its packed long onto the byte array, listing its empty cells in row order
+    //as the packed board picks them, so that a tile of the largest exponent a nibble holds can still merge
+    private void unpack(){
+        if (cells == null)
+            allocateCells();
+        this.emptyCount = 0;
+        this.hash = 0;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) BitBoard.get(bits, i / size, i % size);
+            hash ^= Zobrist.key(zobrist, i, cells[i]);
+            if (cells[i] == 0) {
+                empties[emptyCount] = i;
+                emptySlot[i] = emptyCount++;
             }
+            else {
+                emptySlot[i] = -1;
+            }
+        }
+        this.bits = 0;
+        this.packed = false;
+        changed();
+    }
+
+    //Takes a cell out of the list of empty cells, moving the last empty cell into its slot
+    private void fill(int index){
+        int last = empties[--emptyCount];
+        empties[emptySlot[index]] = last;
+        emptySlot[last] = emptySlot[index];
+        emptySlot[index] = -1;
+    }
+
+    //Adds a cell to the end of the list of empty cells
+    private void vacate(int index){
+        empties[emptyCount] = index;
+        emptySlot[index] = emptyCount++;
+    }
+
+    //Drops everything worked out from the board once it has been changed
+    private void changed(){
+        this.view = null;
+        this.dirty = true;
+        this.canonicalKnown = false;
+    }
+
+    //The length of a snapshot from its version and the size of its board, the first two bytes of it
+    static int snapshotBytes(byte version, int size){
+        if (version != SNAPSHOT_VERSION && !(version == UNPACKED_SNAPSHOT_VERSION && size == 4))
+            throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        int cells = size * size;
+        boolean nibbles = size == 4 && version == SNAPSHOT_VERSION;
+        return SNAPSHOT_HEADER + (nibbles ? 8 : cells + (cells > 256 ? 2 : 1) * cells) + 4;
+    }
+
+    //Reads the exponents of the byte array and the order of its empty cells from a snapshot
+    private void restoreCells(ByteBuffer buffer){
+        buffer.get(cells);
+        this.emptyCount = 0;
+        for (int i = 0; i < cells.length; i++) {
+            maxExponent = Math.max(maxExponent, cells[i]);
+            hash ^= Zobrist.key(zobrist, i, cells[i]);
+            emptySlot[i] = -1;
+            if (cells[i] == 0)
+                emptyCount++;
+        }
+        boolean wide = cells.length > 256;
+        for (int k = 0; k < cells.length; k++) {
+            int cell = wide ? buffer.getShort() & 0xFFFF : buffer.get() & 0xFF;
+            if (k >= emptyCount)
+                continue;
+            if (cell >= cells.length || cells[cell] != 0 || emptySlot[cell] != -1)
+                throw new IllegalArgumentException("The snapshot lists cell " + cell + " as empty");
+            empties[k] = cell;
+            emptySlot[cell] = k;
         }
-        return zeroes;
+        changed();
     }
 
-    //Returns an empty array corresponding to the size of the board
-    private ArrayList<Integer> emptyArray() {
-        ArrayList<Integer> al = new ArrayList<>();
-        for (int i = 0; i < size; i++){
-            al.add(0);
+    //The CRC-32C of a range of a buffer, leaving its position where it was
+    private static int checksum(ByteBuffer buffer, int from, int to){
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(to).position(from));
+        return (int) crc.getValue();
+    }
+
+    //Picks the exponent of a new tile, the base number 90% of the time and double it otherwise
+    private int randomExponent() {
+        return random.nextDouble() < DOUBLE_SPAWN_CHANCE ? DOUBLE_SPAWN_EXPONENT : SPAWN_EXPONENT;
+    }
+
+    //Converts a tile value into its exponent, where 0 is empty and k is number * 2^(k-1)
+    private int exponentOf(int value) {
+        if (value == 0)
+            return 0;
+        int multiple = value / number;
+        if (value < 0 || value % number != 0 || Integer.bitCount(multiple) != 1)
+            throw new IllegalArgumentException(value + " is not a tile of base number " + number);
+        return Integer.numberOfTrailingZeros(multiple) + 1;
+    }
+
+    //Converts an exponent back into the tile value it stands for
+    private int valueOf(int exponent) {
+        return exponent == 0 ? 0 : number << (exponent - 1);
+    }
+
+    //Builds the nested list of tile values from the exponents of the board
+    private ArrayList<ArrayList<Integer>> boardView() {
+        ArrayList<ArrayList<Integer>> rows = new ArrayList<ArrayList<Integer>>();
+        for (int i = 0; i < size; i++) {
+            ArrayList<Integer> row = new ArrayList<Integer>();
+            for (int j = 0; j < size; j++) {
+                row.add(valueOf(getCell(i,j)));
+            }
+            rows.add(row);
         }
-        return al;
+        return rows;
     }
 
     //For testing of the board by giving it a given value
     protected void setBoard(ArrayList<ArrayList<Integer>> board){
-        this.board = board;
+        this.maxExponent = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                setValue(i, j, exponentOf(board.get(i).get(j)));
+            }
+        }
     }
 }
@@ -0,0 +1,51 @@
+/**
+ * @file ConcurrentTranspositionTable.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a TranspositionTable on the heap that can be shared by searches running on many threads.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief An ArrayTranspositionTable guarded by striped locks.
+* @details Each slot belongs to one of a fixed number of lock stripes, so threads only wait on
+* each other when they touch slots of the same stripe, and an entry is never read half written.
+* newSearch is still meant to be called between searches, not while threads are using the table.
+*/
+public class ConcurrentTranspositionTable extends ArrayTranspositionTable {
+    private static final int STRIPES = 256;
+    private final Object[] locks = new Object[STRIPES];
+
+    /**
+     * @brief Constructs the ConcurrentTranspositionTable object.
+     * @param capacity The number of entries, rounded up to a power of two.
+     */
+    public ConcurrentTranspositionTable(int capacity) {
+        super(capacity);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public double get(long key, int depth) {
+        synchronized (locks[slot(key) & (STRIPES - 1)]) {
+            return super.get(key, depth);
+        }
+    }
+
+    @Override
+    public void put(long key, int depth, double value, DirectionT best) {
+        synchronized (locks[slot(key) & (STRIPES - 1)]) {
+            super.put(key, depth, value, best);
+        }
+    }
+
+    @Override
+    public DirectionT getBest(long key) {
+        synchronized (locks[slot(key) & (STRIPES - 1)]) {
+            return super.getBest(key);
+        }
+    }
+}
@@ -7,6 +7,9 @@
 
 package src;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
 * @brief A class that the user uses to play the game.
 * @details Initializes the BoardT object and calls instances of the UserInterface and GameController.
@@ -17,7 +20,12 @@ public class Demo
     public static void main(String[] args) {
         BoardT boardT = new BoardT(4,2);
         UserInterface UI = UserInterface.getInstance();
+        //Passing ansi redraws only the changed cells, for terminals that understand ANSI escape codes,
+        //and deltas keeps the undo history as the changes of each turn, which holds more turns on big boards
+        List<String> options = Arrays.asList(args);
+        UI.setAnsi(options.contains("ansi"));
         GameController game = GameController.getInstance(boardT, UI);
+        game.setHistoryDeltas(options.contains("deltas"));
         game.runGame();
     }
 }
\ No newline at end of file
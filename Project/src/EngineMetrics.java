@@ -0,0 +1,174 @@
+/**
+ * @file EngineMetrics.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the counters, latency histograms and flight recorder events of BoardT.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+* @brief Instrumentation of every BoardT in the process, off until it is turned on.
+* @details While off, each instrumented BoardT operation only reads one flag. While on, it counts
+* moves by direction, merges, spawns, moves that canMove rejected and finished games, and times
+* move, addCell and getStatus into histograms, all without locks. Each move can also be sent to
+* the JDK Flight Recorder as a MoveEvent, which is turned on separately. The metrics are read
+* through the registry. Both can be turned on at startup, with -Dsrc.metrics=true and
+* -Dsrc.metrics.jfr=true.
+*/
+public final class EngineMetrics {
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+
+    //Read by BoardT before every instrumented operation
+    static volatile boolean enabled = Boolean.getBoolean("src.metrics");
+    private static volatile boolean moveEvents = Boolean.getBoolean("src.metrics.jfr");
+
+    private static final LongAdder[] MOVES = new LongAdder[DIRECTIONS.length];
+    private static final LongAdder MERGES = new LongAdder();
+    private static final LongAdder SPAWNS = new LongAdder();
+    private static final LongAdder REJECTED = new LongAdder();
+    private static final LongAdder GAMES = new LongAdder();
+    private static final LatencyHistogram MOVE_NANOS = new LatencyHistogram();
+    private static final LatencyHistogram SPAWN_NANOS = new LatencyHistogram();
+    private static final LatencyHistogram STATUS_NANOS = new LatencyHistogram();
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    static {
+        for (DirectionT direction : DIRECTIONS) {
+            LongAdder moves = new LongAdder();
+            MOVES[direction.ordinal()] = moves;
+            REGISTRY.counter("board_moves_" + direction.name().toLowerCase() + "_total",
+                    "Moves made " + direction.name().toLowerCase(), moves::sum);
+        }
+        REGISTRY.counter("board_merges_total", "Pairs of tiles merged by moves", MERGES::sum);
+        REGISTRY.counter("board_spawns_total", "Tiles added by addCell", SPAWNS::sum);
+        REGISTRY.counter("board_rejected_moves_total", "Moves that canMove found would not change the board", REJECTED::sum);
+        REGISTRY.counter("board_games_finished_total", "Games that a spawn left without a legal move", GAMES::sum);
+        REGISTRY.counter("board_line_cache_hits_total", "Lines moved from the LineCache", LineCache::totalHits);
+        REGISTRY.counter("board_line_cache_misses_total", "Lines slid and then stored in the LineCache", LineCache::totalMisses);
+        REGISTRY.counter("board_line_cache_evictions_total", "Lines the LineCache dropped to make room", LineCache::totalEvictions);
+        REGISTRY.histogram("board_move_nanoseconds", "Time taken by move", MOVE_NANOS);
+        REGISTRY.histogram("board_add_cell_nanoseconds", "Time taken by addCell", SPAWN_NANOS);
+        REGISTRY.histogram("board_get_status_nanoseconds", "Time taken by getStatus", STATUS_NANOS);
+    }
+
+    private EngineMetrics() {
+    }
+
+    /**
+     * @brief Turns counting and timing on or off for every board.
+     * @param on Whether to measure.
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * @brief Determines whether boards are being measured.
+     * @return Whether counting and timing are on.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @brief Turns the flight recorder event of every move on or off, while measuring is on.
+     * @details The events are only kept by a recording that enables src.BoardMove, as with any event.
+     * @param on Whether to send a MoveEvent for each move.
+     */
+    public static void setMoveEvents(boolean on) {
+        moveEvents = on;
+    }
+
+    /**
+     * @brief Gets the registry every metric of the engine is in.
+     * @return The registry to scrape.
+     */
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * @brief Sets every counter and histogram back to zero.
+     */
+    public static void reset() {
+        for (LongAdder moves : MOVES) {
+            moves.reset();
+        }
+        MERGES.reset();
+        SPAWNS.reset();
+        REJECTED.reset();
+        GAMES.reset();
+        MOVE_NANOS.reset();
+        SPAWN_NANOS.reset();
+        STATUS_NANOS.reset();
+    }
+
+    //Counts a move that merged some pairs of tiles and gained some score
+    static void move(DirectionT direction, int merges, long scoreGain, long nanos) {
+        MOVES[direction.ordinal()].increment();
+        if (merges > 0)
+            MERGES.add(merges);
+        MOVE_NANOS.record(nanos);
+        if (moveEvents) {
+            MoveEvent event = new MoveEvent();
+            if (event.isEnabled()) {
+                event.direction = direction.name();
+                event.merges = merges;
+                event.scoreGain = scoreGain;
+                event.nanos = nanos;
+                event.commit();
+            }
+        }
+    }
+
+    //Counts a call of addCell, which may have spawned a tile and may have ended the game
+    static void spawn(boolean spawned, boolean finished, long nanos) {
+        if (spawned)
+            SPAWNS.increment();
+        if (finished)
+            GAMES.increment();
+        SPAWN_NANOS.record(nanos);
+    }
+
+    //Times a call of getStatus
+    static void status(long nanos) {
+        STATUS_NANOS.record(nanos);
+    }
+
+    //Counts a direction that canMove turned down
+    static void rejected() {
+        REJECTED.increment();
+    }
+
+    /**
+     * @brief The flight recorder event of one move of a board.
+     */
+    @Name("src.BoardMove")
+    @Label("Board Move")
+    @Category("2048")
+    @Description("A move of a BoardT, with the merges and score it made")
+    static final class MoveEvent extends Event {
+        @Label("Direction")
+        String direction;
+
+        @Label("Merges")
+        int merges;
+
+        @Label("Score Gain")
+        long scoreGain;
+
+        @Label("Move Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+}
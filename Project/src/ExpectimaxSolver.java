@@ -0,0 +1,189 @@
+/**
+ * @file ExpectimaxSolver.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a depth-limited expectimax search for picking the next move of a BoardT.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief An automated player that searches the moves and spawns that can follow a position.
+* @details Player nodes take the best of every legal DirectionT, chance nodes average over every
+* empty cell and both tiles the game can spawn there, weighted the same way BoardT spawns them.
+* Chance nodes are cached in a TranspositionTable, and so are player nodes and the root together
+* with the move found best for them, and positions at the depth limit are scored by a Heuristic.
+* The boards a search moves into are kept from one search to the next, so a solver picks moves on
+* one thread at a time.
+*/
+public class ExpectimaxSolver implements Policy {
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+    //Player nodes are stored under their key XORed with this, so that they do not take the entry of a
+    //chance node with the same tiles, whose value is another one
+    private static final long PLAYER_NODE = 0xD6E8FEB86659FD93L;
+
+    private final int depth;
+    private final Heuristic heuristic;
+    private final TranspositionTable table;
+    //The buffers of the searches of this solver, made again when a board of another size comes along
+    private Frames frames;
+
+    /**
+     * @brief Constructs the ExpectimaxSolver object with the default heuristic.
+     * @param depth The number of moves to look ahead, at least 1.
+     */
+    public ExpectimaxSolver(int depth) {
+        this(depth, Heuristic.DEFAULT, new ArrayTranspositionTable(1 << 18));
+    }
+
+    /**
+     * @brief Constructs the ExpectimaxSolver object.
+     * @param depth The number of moves to look ahead, at least 1.
+     * @param heuristic The evaluation of positions at the depth limit.
+     * @param table The table of positions already searched.
+     */
+    public ExpectimaxSolver(int depth, Heuristic heuristic, TranspositionTable table) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Depth must be at least 1");
+        this.depth = depth;
+        this.heuristic = heuristic;
+        this.table = table;
+    }
+
+    /**
+     * @brief Finds the best move for a board.
+     * @param board The board to be moved, which is left unchanged.
+     * @return The direction with the best expected value, or null when no move is legal.
+     */
+    @Override
+    public DirectionT bestMove(BoardT board) {
+        table.newSearch();
+        if (frames == null || !frames.fits(board))
+            frames = new Frames(depth, board);
+        DirectionT best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        int moves = board.getLegalMoves();
+        for (DirectionT direction : DIRECTIONS) {
+            if ((moves & (1 << direction.ordinal())) == 0)
+                continue;
+            double value = moveValue(board, direction, depth, frames);
+            if (value > bestValue) {
+                bestValue = value;
+                best = direction;
+            }
+        }
+        if (best != null)
+            table.put(playerKey(board), depth, bestValue, best);
+        return best;
+    }
+
+    /**
+     * @brief Gets the number of moves the solver looks ahead.
+     * @return The depth of the search.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @brief Gets the table of positions already searched.
+     * @return The transposition table of the solver.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    //The value of making a legal move and then letting the game spawn a tile
+    double moveValue(BoardT board, DirectionT direction, int depth, Frames frames) {
+        BoardT child = board.copy();
+        child.setMeasured(false);
+        child.move(direction);
+        return chanceValue(child, depth - 1, frames);
+    }
+
+    //The value of a player node, the best of its legal moves, which are all made in one sweep into
+    //the boards of its depth, free again by the time another node of that depth is searched
+    double playerValue(BoardT board, int depth, Frames frames) {
+        long key = playerKey(board);
+        double cached = table.get(key, depth);
+        if (!Double.isNaN(cached))
+            return cached;
+        BoardT[] children = frames.children[depth];
+        int moves = board.successors(children, frames.gains[depth]);
+        if (moves == 0)
+            return heuristic.evaluate(board);
+        double best = Double.NEGATIVE_INFINITY;
+        DirectionT bestMove = null;
+        for (DirectionT direction : DIRECTIONS) {
+            if ((moves & (1 << direction.ordinal())) == 0)
+                continue;
+            double value = chanceValue(children[direction.ordinal()], depth - 1, frames);
+            if (value > best) {
+                best = value;
+                bestMove = direction;
+            }
+        }
+        table.put(key, depth, best, bestMove);
+        return best;
+    }
+
+    //The value of a chance node, averaged over every empty cell and both tiles that can spawn in it
+    double chanceValue(BoardT board, int depth, Frames frames) {
+        if (depth <= 0)
+            return heuristic.evaluate(board);
+        long key = board.key();
+        double cached = table.get(key, depth);
+        if (!Double.isNaN(cached))
+            return cached;
+        int empty = board.getEmptyCount();
+        double value = empty == 0 ? heuristic.evaluate(board) : spawnTotal(board, depth, frames) / empty;
+        table.put(key, depth, value);
+        return value;
+    }
+
+    //The sum of the values of every outcome of a chance node weighted by its chance, played out on the
+    //cursor and board of its depth
+    double spawnTotal(BoardT board, int depth, Frames frames) {
+        SpawnOutcomes outcomes = frames.outcomes[depth].reset(board);
+        double total = 0;
+        while (outcomes.next()) {
+            frames.spawned[depth] = outcomes.apply(frames.spawned[depth]);
+            total += outcomes.getChance() * playerValue(frames.spawned[depth], depth, frames);
+        }
+        return total;
+    }
+
+    //The key a player node, or the root, is stored under in the table
+    static long playerKey(BoardT board) {
+        return board.key() ^ PLAYER_NODE;
+    }
+
+    //The boards and gains the player nodes of one search make their moves into, and the cursors and
+    //boards its chance nodes spawn with, one set for each depth, so that a search allocates them once
+    //rather than at every node. A set is only used by one thread.
+    static final class Frames {
+        final BoardT[][] children;
+        final long[][] gains;
+        final SpawnOutcomes[] outcomes;
+        final BoardT[] spawned;
+        private final int size;
+        private final int number;
+
+        Frames(int depth, BoardT board) {
+            this.children = new BoardT[depth + 1][DIRECTIONS.length];
+            this.gains = new long[depth + 1][DIRECTIONS.length];
+            this.outcomes = new SpawnOutcomes[depth + 1];
+            this.spawned = new BoardT[depth + 1];
+            for (int d = 0; d <= depth; d++) {
+                outcomes[d] = new SpawnOutcomes();
+            }
+            this.size = board.getSize();
+            this.number = board.getNumber();
+        }
+
+        //Whether the boards of the set can be written with the moves of a board
+        boolean fits(BoardT board) {
+            return board.getSize() == size && board.getNumber() == number;
+        }
+    }
+}
@@ -16,10 +16,15 @@ import java.util.Scanner;
 
 public class GameController {
 
+    //The memory kept for undoing and redoing the turns of a game
+    private static final int HISTORY_BYTES = 64 * 1024;
+
     //Define State Variables
     private BoardT model;
     private UserInterface view;
     private static GameController controller = null;
+    private GameHistory history;
+    private boolean deltas = false;
 
     // Define environment variable
     private Scanner keyboard = new Scanner(System.in);
@@ -54,6 +59,51 @@ public class GameController {
      */
     public void initializeGame(int size, int number){
         this.model = new BoardT(size, number);
+        //The history is kept from game to game, so its buffer is only allocated again when deltas are toggled
+        if (history == null || history.isDeltas() != deltas)
+            this.history = new GameHistory(HISTORY_BYTES, deltas);
+        history.start(model);
+    }
+
+    /**
+     * @brief Sets whether the turns kept for undo and redo are deltas rather than whole boards.
+     * @details Deltas keep only the bytes a turn changed, so the same memory holds more turns, about
+     * three times as many on a 10x10 board, for a little more work on every turn. It takes effect from the next game.
+     * @param deltas True to keep deltas, false to keep whole snapshots.
+     */
+    public void setHistoryDeltas(boolean deltas){
+        this.deltas = deltas;
+    }
+
+    /**
+     * @brief Records the turn just played, so that it can be undone.
+     */
+    public void recordTurn(){
+        history.record(model);
+    }
+
+    /**
+     * @brief Takes back the last turn played.
+     * @return True if a turn was undone, or False when there is none left in the history.
+     */
+    public boolean undo(){
+        BoardT previous = history.undo();
+        if (previous == null)
+            return false;
+        this.model = previous;
+        return true;
+    }
+
+    /**
+     * @brief Plays again the last turn that was undone.
+     * @return True if a turn was redone, or False when there is none to redo.
+     */
+    public boolean redo(){
+        BoardT next = history.redo();
+        if (next == null)
+            return false;
+        this.model = next;
+        return true;
     }
 
     /**
@@ -101,6 +151,13 @@ public class GameController {
         view.printBoard(model);
     }
 
+    /**
+     * @brief Updates the view module to display the score and the board together.
+     */
+    public void displayFrame(){
+        view.printFrame(model);
+    }
+
     /**
      * @brief Updates the view module to display an ending message.
      */
@@ -129,6 +186,14 @@ public class GameController {
         view.printGameOver();
     }
 
+    /**
+     * @brief Updates the view module to display a status message.
+     * @param message The message, on one line.
+     */
+    public void displayMessage(String message){
+        view.printMessage(message);
+    }
+
     /**
      * @brief Updates the view module to display the win message.
      */
@@ -228,55 +293,69 @@ public class GameController {
         //Starts the loop for the turns until the game cannot be played
         //Lets the user play even after they have won
         while (getStatus() && !(input.equals("q") || input.equals("n"))){
-            displayScore();
-            displayBoard();
+            displayFrame();
             //Takes an input for the direction of the user and only moves if it is a valid move
             try{
                 System.out.print("Enter a Direction: ");
                 input = readInput();
-                if (!(input.equals("w") || input.equals("a") || input.equals("s") || input.equals("d") || input.equals("q") || input.equals("n"))) {
+                if (!(input.equals("w") || input.equals("a") || input.equals("s") || input.equals("d") || input.equals("u") || input.equals("r") || input.equals("q") || input.equals("n"))) {
                     throw new IllegalArgumentException();
                 }
                 if (input.equals("w")) {
                     if (canMove(DirectionT.Up)){
                         move(DirectionT.Up);
                         addCell();
+                        recordTurn();
                     }
                 }
                 else if (input.equals("s")) {
                     if (canMove(DirectionT.Down)){
                         move(DirectionT.Down);
                         addCell();
+                        recordTurn();
                     }
                 }
                 else if (input.equals("d")) {
                     if (canMove(DirectionT.Right)){
                         move(DirectionT.Right);
                         addCell();
+                        recordTurn();
                     }
                 }
                 else if (input.equals("a")) {
                     if (canMove(DirectionT.Left)){
                         move(DirectionT.Left);
                         addCell();
+                        recordTurn();
                     }
                 }
+                else if (input.equals("u")) {
+                    if (!undo())
+                        displayMessage("Nothing to undo");
+                    //Undoing back before the win lets the win be shown again when it is reached again
+                    else if (!checkWin())
+                        hasWon = false;
+                }
+                else if (input.equals("r")) {
+                    if (!redo())
+                        displayMessage("Nothing to redo");
+                    else if (!checkWin())
+                        hasWon = false;
+                }
             }
             catch (IllegalArgumentException e){
-                System.out.println("Invalid Input");
+                displayMessage("Invalid Input");
             }
             //Checks the game after every move to see if the game has been won, and display the message once
             if (checkWin() && !(hasWon)) {
-                displayScore();
-                displayBoard();
+                displayFrame();
                 displayGameWon();
                 hasWon = true;
             }
         }
         //If the game was ended because game over
         if (!getStatus()) {
-            displayScore();
-            displayBoard();
+            displayFrame();
             displayGameOver();
             System.out.print("Play Again? y/n: ");
             input = readInput();
@@ -0,0 +1,258 @@
+/**
+ * @file GameHistory.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a bounded undo and redo history of a game, kept in one ring buffer of bytes.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+* @brief The turns of a game that can be undone and redone, in a fixed number of bytes.
+* @details Every turn is kept as one record in a ring buffer that is allocated once, so the memory a
+* history takes up stays the same however long the game goes on; when the buffer is full the oldest
+* turns are dropped to make room. Positions are kept as BoardT snapshots, so the score and the state
+* of the random stream come back with the tiles, and a board that is undone spawns the same tiles
+* again. A record holds the other side of its turn: the position before it while the turn is done and
+* the position after it once the turn is undone, so undo and redo are both one swap with the current
+* position. Records are either whole snapshots or, with deltas, a bitmask of the bytes a turn changed
+* followed by those bytes XORed with the snapshot they were taken from. Besides the tiles, a turn
+* changes the score, the random state and the order of the empty cells, so a delta of a 10x10 board
+* still takes about a third of the bytes of its snapshot, and the same buffer holds about three times
+* the turns. Every record is framed by its length at both ends so it can be stepped over forwards
+* and backwards.
+*/
+public class GameHistory {
+    //The bytes of the length at each end of a record
+    private static final int FRAME = 4;
+
+    private final byte[] ring;
+    private final boolean deltas;
+    //Positions in the ring as counts of bytes ever written, taken modulo its length to index it
+    private long oldest;
+    private long cursor;
+    private long newest;
+    //The snapshot of the current position, and room for the next one, both as long as the longest
+    //snapshot of the size and padded with zeros, since a 4x4 board writes a longer one once unpacked
+    private byte[] current;
+    private byte[] next;
+    //Room for the delta of one turn
+    private byte[] delta;
+    private int records;
+    private int undone;
+
+    /**
+     * @brief Constructs the GameHistory object.
+     * @param bytes The size of the ring buffer the turns are kept in.
+     * @param deltas Whether turns are kept as the bytes they changed rather than as whole snapshots.
+     * @throws IllegalArgumentException When the buffer is not larger than the framing of one record.
+     */
+    public GameHistory(int bytes, boolean deltas) {
+        if (bytes <= 2 * FRAME)
+            throw new IllegalArgumentException("The history needs more than " + 2 * FRAME + " bytes");
+        this.ring = new byte[bytes];
+        this.deltas = deltas;
+    }
+
+    /**
+     * @brief Forgets every turn and starts again from a position.
+     * @param board The position the game is at, which cannot be undone.
+     */
+    public void start(BoardT board) {
+        int length = BoardT.maxSnapshotBytes(board.getSize());
+        if (current == null || current.length != length) {
+            current = new byte[length];
+            next = new byte[length];
+            delta = deltas ? new byte[(length + 7) / 8 + length] : null;
+        }
+        write(board, current);
+        oldest = cursor = newest = 0;
+        records = undone = 0;
+    }
+
+    /**
+     * @brief Records a turn, which drops every turn that was undone before it.
+     * @param board The position after the turn, the one before it being the last position recorded or restored.
+     * @throws IllegalStateException When the history was never started.
+     */
+    public void record(BoardT board) {
+        if (current == null)
+            throw new IllegalStateException("The history has not been started");
+        write(board, next);
+        newest = cursor;
+        records -= undone;
+        undone = 0;
+        if (deltas)
+            appendDelta();
+        else
+            append(current, Math.max(length(current), length(next)));
+        byte[] swap = current;
+        current = next;
+        next = swap;
+    }
+
+    /**
+     * @brief Goes back to the position before the last turn that is not undone.
+     * @return The board at that position, or null when there is no turn to undo.
+     */
+    public BoardT undo() {
+        if (cursor == oldest)
+            return null;
+        int length = readInt(cursor - FRAME);
+        cursor -= length + 2 * FRAME;
+        exchange(cursor + FRAME, length);
+        undone++;
+        return restore();
+    }
+
+    /**
+     * @brief Goes forward to the position after the last turn that was undone.
+     * @return The board at that position, or null when there is no turn to redo.
+     */
+    public BoardT redo() {
+        if (cursor == newest)
+            return null;
+        int length = readInt(cursor);
+        exchange(cursor + FRAME, length);
+        cursor += length + 2 * FRAME;
+        undone--;
+        return restore();
+    }
+
+    /**
+     * @brief Gets the number of turns that can be undone.
+     * @return The turns kept before the current position.
+     */
+    public int getUndoCount() {
+        return records - undone;
+    }
+
+    /**
+     * @brief Gets the number of turns that can be redone.
+     * @return The turns kept after the current position.
+     */
+    public int getRedoCount() {
+        return undone;
+    }
+
+    /**
+     * @brief Gets the size of the ring buffer.
+     * @return The bytes the turns are kept in.
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * @brief Gets the bytes the kept turns take up.
+     * @return The bytes of every record, framing included.
+     */
+    public long getBytes() {
+        return newest - oldest;
+    }
+
+    /**
+     * @brief Determines whether turns are kept as deltas.
+     * @return True when only the changed bytes are kept, false when whole snapshots are.
+     */
+    public boolean isDeltas() {
+        return deltas;
+    }
+
+    //Writes the XOR of the current and next snapshots as a bitmask of the bytes that changed, then those
+    //bytes, which suits changes scattered all over the snapshot
+    private void appendDelta() {
+        int mask = (current.length + 7) / 8;
+        Arrays.fill(delta, 0, mask, (byte) 0);
+        int length = mask;
+        for (int k = 0; k < current.length; k++) {
+            if (current[k] != next[k]) {
+                delta[k >>> 3] |= (byte) (1 << (k & 7));
+                delta[length++] = (byte) (current[k] ^ next[k]);
+            }
+        }
+        append(delta, length);
+    }
+
+    //Adds a record after the cursor, dropping the oldest records until it fits, or every record if it never can
+    private void append(byte[] payload, int length) {
+        long size = length + 2 * FRAME;
+        if (size > ring.length) {
+            oldest = cursor = newest;
+            records = 0;
+            return;
+        }
+        while (newest + size - oldest > ring.length) {
+            oldest += readInt(oldest) + 2 * FRAME;
+            records--;
+        }
+        writeInt(newest, length);
+        for (int k = 0; k < length; k++) {
+            ring[index(newest + FRAME + k)] = payload[k];
+        }
+        writeInt(newest + FRAME + length, length);
+        newest += size;
+        cursor = newest;
+        records++;
+    }
+
+    //Swaps the current position with the other side of the record whose payload starts at a position
+    private void exchange(long start, int length) {
+        if (!deltas) {
+            for (int k = 0; k < length; k++) {
+                int at = index(start + k);
+                byte kept = ring[at];
+                ring[at] = current[k];
+                current[k] = kept;
+            }
+            return;
+        }
+        //A delta is its own inverse, so it takes the position either way and is left as it is
+        long changed = start + (current.length + 7) / 8;
+        for (int k = 0; k < current.length; k++) {
+            if ((readByte(start + (k >>> 3)) & 1 << (k & 7)) != 0)
+                current[k] ^= ring[index(changed++)];
+        }
+    }
+
+    //Writes the snapshot of a board into an array, clearing whatever an earlier, longer snapshot left after it
+    private static void write(BoardT board, byte[] into) {
+        board.writeSnapshot(ByteBuffer.wrap(into));
+        Arrays.fill(into, board.getSnapshotBytes(), into.length, (byte) 0);
+    }
+
+    //Gets the length of the snapshot held in an array, from its version and size
+    private static int length(byte[] snapshot) {
+        return BoardT.snapshotBytes(snapshot[0], snapshot[1] & 0xFF);
+    }
+
+    //Reads the board back from the snapshot of the current position
+    private BoardT restore() {
+        return BoardT.readSnapshot(ByteBuffer.wrap(current));
+    }
+
+    //Finds where a position falls in the ring
+    private int index(long position) {
+        return (int) (position % ring.length);
+    }
+
+    //Reads an unsigned byte at a position of the ring
+    private int readByte(long position) {
+        return ring[index(position)] & 0xFF;
+    }
+
+    //Reads a little-endian int that may wrap around the end of the ring
+    private int readInt(long position) {
+        return readByte(position) | readByte(position + 1) << 8 | readByte(position + 2) << 16 | readByte(position + 3) << 24;
+    }
+
+    //Writes a little-endian int that may wrap around the end of the ring
+    private void writeInt(long position, int value) {
+        for (int k = 0; k < FRAME; k++) {
+            ring[index(position + k)] = (byte) (value >>> (8 * k));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * @file GameRecorder.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the writer of the compact binary record of played games.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+* @brief Records the moves and spawns of a game so that it can be replayed by GameReplay.
+* @details A record file starts with a magic number and a version, followed by one record per
+* game. A record holds the size, number and seed of the game, the tiles it started with, and then
+* one bit-packed field per turn: 2 bits for the DirectionT, 1 bit for whether the spawn was double
+* the base number, and just enough bits for the cell of the spawn, where the cell count itself
+* means no tile spawned. That is a single byte per turn on the classic 4x4 board. Everything is
+* little-endian. A recorder is reused from game to game, and only one thread may use it at once.
+*/
+public class GameRecorder {
+    //"2048" read as a little-endian int
+    static final int MAGIC = 0x38343032;
+    static final byte VERSION = 1;
+    //The magic number and version at the start of every file
+    static final int FILE_HEADER = 5;
+    //The size, number, seed, start tile count and turn count at the start of every record
+    static final int RECORD_HEADER = 1 + 4 + 8 + 2 + 4;
+    //The cell and exponent of each tile a game started with
+    static final int START_TILE = 3;
+
+    private ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+    private ByteBuffer turns = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer[] parts = new ByteBuffer[2];
+    private int size;
+    private int cellBits;
+    private int turnCount;
+    //The turn bits not yet written out as a whole byte
+    private long pending;
+    private int pendingBits;
+
+    /**
+     * @brief Opens a record file for appending games, writing the file header when it is new.
+     * @param path The file to record into.
+     * @return The channel that finished games are written to.
+     * @throws IOException When the file cannot be opened or is not a record file.
+     */
+    public static FileChannel openFile(Path path) throws IOException {
+        FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer start = ByteBuffer.allocate(FILE_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        if (file.size() == 0) {
+            start.putInt(MAGIC).put(VERSION).flip();
+            while (start.hasRemaining()) {
+                file.write(start);
+            }
+        }
+        else {
+            file.read(start, 0);
+            if (start.position() < FILE_HEADER || start.getInt(0) != MAGIC || start.get(4) != VERSION) {
+                file.close();
+                throw new IOException(path + " is not a game record file");
+            }
+            file.position(file.size());
+        }
+        return file;
+    }
+
+    /**
+     * @brief Starts recording a new game, dropping anything recorded since the last finish.
+     * @param board The board of the game, with the tiles it starts with already spawned.
+     * @param seed The seed the spawns of the game were drawn from.
+     */
+    public void begin(BoardT board, long seed) {
+        this.size = board.getSize();
+        this.cellBits = cellBits(size);
+        int cells = size * size;
+        if (header.capacity() < RECORD_HEADER + cells * START_TILE)
+            header = ByteBuffer.allocate(RECORD_HEADER + cells * START_TILE).order(ByteOrder.LITTLE_ENDIAN);
+        header.clear();
+        header.put((byte) size).putInt(board.getNumber()).putLong(seed).putShort((short) 0).putInt(0);
+        int tiles = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int exponent = board.getExponent(cell / size, cell % size);
+            if (exponent != 0) {
+                header.putShort((short) cell).put((byte) exponent);
+                tiles++;
+            }
+        }
+        header.putShort(13, (short) tiles);
+        turns.clear();
+        turnCount = 0;
+        pending = 0;
+        pendingBits = 0;
+    }
+
+    /**
+     * @brief Records one turn of the game.
+     * @param direction The direction the board was moved in.
+     * @param cell The cell the following tile spawned in as row * size + column, or -1 for no spawn.
+     * @param exponent The exponent of the spawned tile, 1 for the base number and 2 for double it.
+     */
+    public void turn(DirectionT direction, int cell, int exponent) {
+        int spawn = cell < 0 ? size * size : cell;
+        long field = direction.ordinal() | (exponent == 2 ? 4 : 0) | ((long) spawn << 3);
+        pending |= field << pendingBits;
+        pendingBits += 3 + cellBits;
+        if (turns.remaining() < 8) {
+            ByteBuffer grown = ByteBuffer.allocate(turns.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+            turns.flip();
+            turns = grown.put(turns);
+        }
+        while (pendingBits >= 8) {
+            turns.put((byte) pending);
+            pending >>>= 8;
+            pendingBits -= 8;
+        }
+        turnCount++;
+    }
+
+    /**
+     * @brief Writes the recorded game to the end of a record file as one piece.
+     * @details Threads sharing a file may finish their games at the same time, records never interleave.
+     * @param file A channel opened by openFile.
+     * @throws IOException When the record cannot be written.
+     */
+    public void finish(FileChannel file) throws IOException {
+        if (pendingBits > 0) {
+            turns.put((byte) pending);
+            pending = 0;
+            pendingBits = 0;
+        }
+        header.putInt(15, turnCount);
+        header.flip();
+        turns.flip();
+        parts[0] = header;
+        parts[1] = turns;
+        synchronized (file) {
+            while (header.hasRemaining() || turns.hasRemaining()) {
+                file.write(parts);
+            }
+        }
+        header.clear();
+        turns.clear();
+    }
+
+    /**
+     * @brief Gets the number of turns recorded in the current game.
+     * @return The number of turns.
+     */
+    public int getTurns() {
+        return turnCount;
+    }
+
+    //The number of bits that can hold every cell of a board and the no spawn marker after them
+    static int cellBits(int size) {
+        return 32 - Integer.numberOfLeadingZeros(size * size);
+    }
+
+    //The number of bytes the turns of a record take up
+    static long turnBytes(int size, int turns) {
+        return ((long) turns * (3 + cellBits(size)) + 7) / 8;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * @file GameReplay.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the reader that replays a file of games written by GameRecorder.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+* @brief Replays recorded games through a BoardT, one turn at a time.
+* @details The file is memory-mapped in windows of up to a gigabyte, so files of any length can be
+* read, and a window is only moved when the next record does not fit in it. Every game of the
+* same size and number is replayed into the same BoardT, so reading a file allocates nothing per
+* game or per turn. Spawns are placed where they were recorded rather than drawn from the seed.
+*/
+public class GameReplay implements Closeable {
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+    private static final long WINDOW = 1L << 30;
+
+    private final FileChannel file;
+    private final long length;
+    private MappedByteBuffer map;
+    //Where in the file the mapped window starts, and where the next record starts
+    private long mapStart;
+    private long next;
+    private BoardT board;
+    private int size;
+    private int number;
+    private long seed;
+    private int turns;
+    private int turn;
+    private int turnBits;
+    private DirectionT direction;
+    //The bits read ahead of the turns already replayed
+    private long pending;
+    private int pendingBits;
+
+    /**
+     * @brief Constructs the GameReplay object, opening a record file.
+     * @param path The file to replay.
+     * @throws IOException When the file cannot be read or is not a record file.
+     */
+    public GameReplay(Path path) throws IOException {
+        this.file = FileChannel.open(path, StandardOpenOption.READ);
+        this.length = file.size();
+        try {
+            window(0, GameRecorder.FILE_HEADER);
+            if (map.getInt(0) != GameRecorder.MAGIC || map.get(4) != GameRecorder.VERSION)
+                throw new IOException(path + " is not a game record file");
+        }
+        catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        this.next = GameRecorder.FILE_HEADER;
+    }
+
+    /**
+     * @brief Moves on to the next game of the file, set up with the tiles it started with.
+     * @return Whether there was another game, false at the end of the file.
+     * @throws IOException When the record is cut short or cannot be mapped.
+     */
+    public boolean nextGame() throws IOException {
+        if (next >= length)
+            return false;
+        window(next, GameRecorder.RECORD_HEADER);
+        int at = (int) (next - mapStart);
+        int gameSize = map.get(at) & 0xFF;
+        int gameNumber = map.getInt(at + 1);
+        this.seed = map.getLong(at + 5);
+        int tiles = map.getShort(at + 13) & 0xFFFF;
+        this.turns = map.getInt(at + 15);
+        long record = GameRecorder.RECORD_HEADER + (long) tiles * GameRecorder.START_TILE
+                + GameRecorder.turnBytes(gameSize, turns);
+        window(next, record);
+        at = (int) (next - mapStart);
+        if (board == null || gameSize != size || gameNumber != number)
+            board = new BoardT(gameSize, gameNumber, seed);
+        this.size = gameSize;
+        this.number = gameNumber;
+        this.turnBits = 3 + GameRecorder.cellBits(size);
+        board.clear();
+        at += GameRecorder.RECORD_HEADER;
+        for (int t = 0; t < tiles; t++, at += GameRecorder.START_TILE) {
+            int cell = map.getShort(at) & 0xFFFF;
+            board.addCell(cell / size, cell % size, map.get(at + 2));
+        }
+        map.position(at);
+        this.turn = 0;
+        this.direction = null;
+        this.pending = 0;
+        this.pendingBits = 0;
+        this.next += record;
+        return true;
+    }
+
+    /**
+     * @brief Replays the next turn of the current game, its move and then its spawn.
+     * @return Whether there was another turn, false once the game is over.
+     */
+    public boolean nextTurn() {
+        if (turn == turns)
+            return false;
+        while (pendingBits < turnBits) {
+            pending |= (long) (map.get() & 0xFF) << pendingBits;
+            pendingBits += 8;
+        }
+        int field = (int) pending & ((1 << turnBits) - 1);
+        pending >>>= turnBits;
+        pendingBits -= turnBits;
+        direction = DIRECTIONS[field & 3];
+        board.move(direction);
+        int cell = field >>> 3;
+        if (cell < size * size)
+            board.addCell(cell / size, cell % size, (field & 4) == 0 ? 1 : 2);
+        turn++;
+        return true;
+    }
+
+    /**
+     * @brief Replays every remaining turn of the current game.
+     * @return The board at the end of the game.
+     */
+    public BoardT replay() {
+        while (nextTurn()) {
+        }
+        return board;
+    }
+
+    /**
+     * @brief Gets the board the current game is replayed into.
+     * @details The same board is reused by the following games of the same size and number, copy it to keep it.
+     * @return The board after the turns replayed so far.
+     */
+    public BoardT getBoard() {
+        return board;
+    }
+
+    /**
+     * @brief Gets the direction of the turn replayed last.
+     * @return The direction, or null before the first turn of a game.
+     */
+    public DirectionT getDirection() {
+        return direction;
+    }
+
+    /**
+     * @brief Gets the seed the current game was played with.
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @brief Gets the number of turns of the current game.
+     * @return The number of turns.
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * @brief Gets the number of turns of the current game replayed so far.
+     * @return The turn the game is up to.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @brief Closes the file. The mapped windows are released once they are no longer reachable.
+     * @throws IOException When the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    //Makes sure a range of the file is inside the mapped window, mapping a new window from its start if not
+    private void window(long start, long bytes) throws IOException {
+        if (map != null && start >= mapStart && start + bytes <= mapStart + map.capacity())
+            return;
+        if (start + bytes > length)
+            throw new IOException("The game record at " + start + " is cut short");
+        this.mapStart = start;
+        this.map = file.map(FileChannel.MapMode.READ_ONLY, start, Math.min(Math.max(WINDOW, bytes), length - start));
+        map.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
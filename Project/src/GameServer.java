@@ -0,0 +1,159 @@
+/**
+ * @file GameServer.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a TCP server that hosts a GameSession for every connection.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+* @brief Serves games over a line protocol, one session per connection.
+* @details A client sends one command per line, w, a, s, d, n or q, exactly as typed into the
+* console game, and gets back a frame of text ending in a blank line for every command. Every
+* connection is served by its own task on the executor the server is given. Java 17 has no
+* virtual threads, so by default that is a cached pool with one platform thread per connection;
+* on a newer JDK a virtual-thread-per-task executor can be passed in instead. Lines are capped at
+* the same length as NioGameServer caps them, and a connection that sends a longer one is dropped.
+*/
+public class GameServer implements Closeable {
+    //The longest command line a client may send, far past any real command
+    private static final int MAX_LINE = 256;
+
+    private final ServerSocket server;
+    private final SessionManager sessions;
+    private final ExecutorService connections;
+
+    /**
+     * @brief Constructs the GameServer object, listening on a local port.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param sessions The sessions every connection is given one of.
+     * @param connections The executor every connection is served on.
+     * @throws IOException When the port cannot be listened on.
+     */
+    public GameServer(int port, SessionManager sessions, ExecutorService connections) throws IOException {
+        this.server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.sessions = sessions;
+        this.connections = connections;
+    }
+
+    /**
+     * @brief Accepts connections until the server is closed.
+     * @throws IOException When accepting fails for any reason other than the server closing.
+     */
+    public void serve() throws IOException {
+        while (!server.isClosed()) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            }
+            catch (SocketException e) {
+                if (server.isClosed())
+                    return;
+                throw e;
+            }
+            try {
+                connections.execute(() -> handle(socket));
+            }
+            catch (RejectedExecutionException e) {
+                socket.close();
+            }
+        }
+    }
+
+    /**
+     * @brief Gets the port the server listens on.
+     * @return The local port.
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * @brief Stops accepting connections, and stops the executor once the current ones end.
+     * @throws IOException When the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        connections.shutdown();
+    }
+
+    //Plays one session over a connection until the client quits or hangs up
+    private void handle(Socket socket) {
+        GameSession session = sessions.open();
+        StringBuilder out = new StringBuilder();
+        try (Socket client = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8)) {
+            client.setTcpNoDelay(true);
+            session.start(out);
+            send(out, writer);
+            StringBuilder line = new StringBuilder();
+            boolean open = true;
+            while (open && readLine(in, line)) {
+                open = session.handle(line.toString(), out);
+                send(out, writer);
+            }
+        }
+        catch (IOException e) {
+            //The client went away or sent too long a line, which ends the session the same way quitting does
+        }
+        finally {
+            sessions.close(session);
+        }
+    }
+
+    //Reads the next line into the builder without its line ending, the same as BufferedReader.readLine
+    //but never holding more than MAX_LINE characters. Returns false at the end of the stream
+    private static boolean readLine(BufferedReader in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c == '\r')
+                continue;
+            if (line.length() == MAX_LINE)
+                throw new IOException("Line longer than " + MAX_LINE + " characters");
+            line.append((char) c);
+        }
+        return c != -1 || line.length() > 0;
+    }
+
+    //Sends a frame and empties the builder for the next one
+    private static void send(StringBuilder out, Writer writer) throws IOException {
+        writer.append(out);
+        writer.flush();
+        out.setLength(0);
+    }
+
+    /**
+     * @brief Runs a server from the command line until it is killed.
+     * @details Arguments are the port, size and number, which default to 2048, 4 and 2.
+     * @param args The settings of the server.
+     * @throws IOException When the port cannot be listened on.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int number = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        try (GameServer server = new GameServer(port, new SessionManager(size, number), Executors.newCachedThreadPool())) {
+            System.out.println("Serving 2048 on port " + server.getPort());
+            server.serve();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * @file GameSession.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains one game played through text commands, apart from any console or connection.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief A single player's game, driven by the same w/a/s/d/n/q commands as GameController.
+* @details Each session owns its own BoardT, and answers every command with a frame of text: the
+* score, the board as UserInterface displays it, any message about the game, and a blank line that
+* ends the frame. A session is only ever used by one thread at a time.
+*/
+public class GameSession {
+    private final long id;
+    private BoardT model;
+    private boolean hasWon;
+    private int games;
+
+    /**
+     * @brief Constructs the GameSession object, starting its first game.
+     * @param id The number the session is known by.
+     * @param size The square board dimensions of the game.
+     * @param number The base game number to be played with.
+     */
+    public GameSession(long id, int size, int number) {
+        this.id = id;
+        newGame(size, number);
+    }
+
+    /**
+     * @brief Writes the greeting of a new session, with the controls and the first board.
+     * @param out The text the greeting is added to.
+     */
+    public void start(StringBuilder out) {
+        out.append("Welcome to 2048, session ").append(id).append('\n');
+        out.append("New Game: n [size number] | Quit Game: q\n");
+        out.append("Move Up: w | Move Down: s | Move Right: d | Move left: a\n");
+        frame(null, out);
+    }
+
+    /**
+     * @brief Carries out one command and writes the frame that follows it.
+     * @param command One of w, a, s, d, q or n, where n may be followed by a size and a number.
+     * @param out The text the frame is added to.
+     * @return False when the command was q and the session is over, true otherwise.
+     */
+    public boolean handle(String command, StringBuilder out) {
+        String input = command.trim();
+        String message = null;
+        if (input.equals("q")) {
+            out.append("Thank You For Playing !!!\n\n");
+            return false;
+        }
+        else if (input.equals("w")) {
+            play(DirectionT.Up);
+        }
+        else if (input.equals("s")) {
+            play(DirectionT.Down);
+        }
+        else if (input.equals("d")) {
+            play(DirectionT.Right);
+        }
+        else if (input.equals("a")) {
+            play(DirectionT.Left);
+        }
+        else if (input.equals("n") || input.startsWith("n ")) {
+            message = newGame(input.substring(1).trim());
+        }
+        else {
+            message = "Invalid Input";
+        }
+        //The win is only announced on the move that reaches the winning tile
+        if (message == null && model.hasWon() && !hasWon) {
+            hasWon = true;
+            message = "You Won!";
+        }
+        frame(message, out);
+        return true;
+    }
+
+    /**
+     * @brief Gets the number the session is known by.
+     * @return The id of the session.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @brief Gets the board of the game being played.
+     * @return The board of the session.
+     */
+    public BoardT getBoard() {
+        return model;
+    }
+
+    /**
+     * @brief Gets the number of games started in the session, the first one included.
+     * @return The number of games.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    //Moves the board and spawns a tile, only when the move changes the board
+    private void play(DirectionT direction) {
+        if (model.canMove(direction)) {
+            model.move(direction);
+            model.addCell();
+        }
+    }
+
+    //Starts a new game from the arguments of n, keeping the size and number when there are none
+    private String newGame(String arguments) {
+        int size = model.getSize();
+        int number = model.getNumber();
+        if (!arguments.isEmpty()) {
+            String[] parts = arguments.split("\\s+");
+            try {
+                size = Integer.parseInt(parts[0]);
+                if (parts.length > 1)
+                    number = Integer.parseInt(parts[1]);
+            }
+            catch (NumberFormatException e) {
+                return "Input is not an integer value";
+            }
+            if (size < 4 || size > 10)
+                return "Size must be between 4 and 10 (inclusive)";
+            if (number < 2 || number > 10)
+                return "Number must be between 2 and 10 (inclusive)";
+        }
+        newGame(size, number);
+        return "New Game";
+    }
+
+    //Replaces the board with a new game
+    private void newGame(int size, int number) {
+        this.model = new BoardT(size, number);
+        this.hasWon = false;
+        this.games++;
+    }
+
+    //Writes the score, the board and a message, and the blank line that ends every frame
+    private void frame(String message, StringBuilder out) {
+        out.append("Score: ").append(model.getScore()).append('\n');
+        UserInterface.appendBoard(model, out);
+        if (message != null)
+            out.append(message).append('\n');
+        if (!model.getStatus())
+            out.append("Game Over\n");
+        out.append('\n');
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * @file Heuristic.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the interface for scoring positions that a solver stops searching at.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief A static evaluation of a BoardT position.
+* @details Larger values are better for the player. The default prefers boards with many
+* empty cells, rows and columns that keep increasing or decreasing, and neighbours that can merge.
+*/
+public interface Heuristic {
+    /**
+     * @brief Scores a position.
+     * @param board The board to be scored.
+     * @return How good the position is, where larger is better.
+     */
+    double evaluate(BoardT board);
+
+    /**
+     * @brief The default heuristic, based on empty cells, monotonic lines and mergeable neighbours.
+     */
+    Heuristic DEFAULT = board -> {
+        int size = board.getSize();
+        double empty = board.getEmptyCount();
+        double merges = 0;
+        double monotonic = 0;
+        for (int i = 0; i < size; i++) {
+            //Penalises whichever of increasing or decreasing is broken less, per row and per column
+            double rowUp = 0, rowDown = 0, colUp = 0, colDown = 0;
+            for (int j = 0; j + 1 < size; j++) {
+                int a = board.getExponent(i, j);
+                int b = board.getExponent(i, j + 1);
+                int c = board.getExponent(j, i);
+                int d = board.getExponent(j + 1, i);
+                if (a != 0 && a == b)
+                    merges++;
+                if (c != 0 && c == d)
+                    merges++;
+                if (a > b) rowUp += a * a - b * b; else rowDown += b * b - a * a;
+                if (c > d) colUp += c * c - d * d; else colDown += d * d - c * c;
+            }
+            monotonic -= Math.min(rowUp, rowDown) + Math.min(colUp, colDown);
+        }
+        return 270.0 * empty + 700.0 * merges + 47.0 * monotonic;
+    };
+}
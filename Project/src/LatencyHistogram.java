@@ -0,0 +1,129 @@
+/**
+ * @file LatencyHistogram.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a lock-free histogram of how long operations take.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* @brief Counts latencies in power-of-two buckets of nanoseconds.
+* @details Bucket b holds the latencies from 2^(b-1) up to 2^b - 1 nanoseconds, and bucket 0 holds
+* latencies of zero, so recording is a leading-zero count and an add, and any number of threads
+* can record at once without contending on a lock. Percentiles are the upper bound of their bucket,
+* which is at most twice the true value.
+*/
+public class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @brief Constructs the LatencyHistogram object with every bucket empty.
+     */
+    public LatencyHistogram() {
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = new LongAdder();
+        }
+    }
+
+    /**
+     * @brief Records one latency.
+     * @param nanos The time the operation took in nanoseconds, negative values count as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @brief Gets the number of latencies recorded.
+     * @return The count of the histogram.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @brief Gets the total of every latency recorded.
+     * @return The sum in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @brief Gets the largest latency recorded.
+     * @return The maximum in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @brief Gets the number of latencies recorded in one bucket.
+     * @param bucket The bucket, from 0 to 63.
+     * @return The count of the bucket.
+     */
+    public long getBucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * @brief Gets the largest latency a bucket holds.
+     * @param bucket The bucket, from 0 to 63.
+     * @return The upper bound of the bucket in nanoseconds.
+     */
+    public static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * @brief Gets the latency below which a share of the recorded latencies fall.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper bound of the bucket the percentile falls in, or 0 when nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long total = getCount();
+        if (total == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets[b].sum();
+            if (seen >= target)
+                return Math.min(upperBound(b), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * @brief Empties the histogram.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * @brief Gets the number of buckets of every histogram.
+     * @return The number of buckets.
+     */
+    public static int buckets() {
+        return BUCKETS;
+    }
+}
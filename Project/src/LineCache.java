@@ -0,0 +1,273 @@
+/**
+ * @file LineCache.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a bounded cache of how lines of a board move, for sizes too large for full tables.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+* @brief Maps the packed contents of a line to the line after sliding it toward its first cell.
+* @details A line is packed with 6 bits per cell, the first cell lowest, so lines of up to 10 cells
+* with exponents below 60 fit in a long. Each entry keeps the moved line and the score it gains
+* in multiples of the base number; the line changed exactly when the moved line differs from the key.
+* It also keeps the log LineKernel wrote while sliding the line, so a board that takes a move from
+* the cache fills and empties its cells in the same order as sliding would, and spawns in the same
+* cells for the same seed whether the cache is on or not.
+* The cache is 4-way set associative, and each set evicts with the CLOCK algorithm: every hit marks
+* its entry, and a miss replaces the first unmarked entry after the hand of the set, unmarking the
+* entries it passes. Every thread has its own cache for each size, so lookups take no locks, and
+* the statistics only hold the caches weakly, so a cache goes away with its thread and its counts
+* with it.
+* Caching is off unless it is turned on, or started with -Dsrc.lineCache=true: the single pass
+* slide of BoardT already moves a line in place, and packing, looking up and writing back a line
+* measured slower than sliding it on every size from 5 to 10, even at a 90% hit rate.
+*/
+public final class LineCache {
+    /** The bits each cell takes up in a packed line. */
+    static final int BITS = 6;
+    /** Lines with an exponent at or above this are slid directly rather than cached. */
+    static final int LIMIT = 60;
+    private static final long CELL = (1L << BITS) - 1;
+    private static final int WAYS = 4;
+    //The largest line that fits in a packed long
+    static final int MAX_CELLS = 64 / BITS;
+    private static final int DEFAULT_ENTRIES = Integer.getInteger("src.lineCache.entries", 1 << 14);
+
+    private static volatile boolean enabled = Boolean.getBoolean("src.lineCache");
+    //The caches of every thread, held weakly so that the caches of threads that ended can be collected
+    private static final List<WeakReference<LineCache>> CACHES = new CopyOnWriteArrayList<WeakReference<LineCache>>();
+    private static final ThreadLocal<LineCache[]> THREAD_CACHES =
+            ThreadLocal.withInitial(() -> new LineCache[MAX_CELLS + 1]);
+
+    private final int cells;
+    private final long[] keys;
+    private final long[] lines;
+    private final long[] gains;
+    private final int[] ops;
+    private final byte[] opCounts;
+    //The line being slid on a miss, and the log of the slide
+    private final byte[] line;
+    private final int[] log;
+    private final boolean[] marked;
+    private final byte[] hands;
+    private final int setShift;
+    //Only written by the thread that owns the cache, and read by anyone for statistics. The one writer
+    //reads them plainly and stores them with opaque writes, which cost no more than plain ones, so
+    //other threads see whole values without fences on the path of every lookup
+    private long hits;
+    private long misses;
+    private long evictions;
+    private static final VarHandle HITS;
+    private static final VarHandle MISSES;
+    private static final VarHandle EVICTIONS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HITS = lookup.findVarHandle(LineCache.class, "hits", long.class);
+            MISSES = lookup.findVarHandle(LineCache.class, "misses", long.class);
+            EVICTIONS = lookup.findVarHandle(LineCache.class, "evictions", long.class);
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    //Makes an empty cache for lines of a number of cells, with room for a number of entries
+    LineCache(int cells, int entries) {
+        if (cells < 1 || cells > MAX_CELLS)
+            throw new IllegalArgumentException("Lines must have between 1 and " + MAX_CELLS + " cells");
+        int sets = Math.max(1, Integer.highestOneBit(Math.max(entries, WAYS) / WAYS));
+        this.cells = cells;
+        this.keys = new long[sets * WAYS];
+        this.lines = new long[sets * WAYS];
+        this.gains = new long[sets * WAYS];
+        this.ops = new int[sets * WAYS * cells];
+        this.opCounts = new byte[sets * WAYS];
+        this.line = new byte[cells];
+        this.log = new int[cells];
+        this.marked = new boolean[sets * WAYS];
+        this.hands = new byte[sets];
+        this.setShift = 64 - Integer.numberOfTrailingZeros(sets);
+        //No packed line has every bit set, so -1 marks an entry that was never filled
+        java.util.Arrays.fill(keys, -1L);
+    }
+
+    /**
+     * @brief Turns caching on or off for every board made to move after the change.
+     * @param on Whether boards of sizes other than 4 move through the cache.
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * @brief Determines whether boards move through the cache.
+     * @return Whether caching is on.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @brief Gets the number of lookups that found their line, over the caches of every live thread.
+     * @return The number of hits.
+     */
+    public static long totalHits() {
+        long total = 0;
+        for (LineCache cache : live()) {
+            total += cache.getHits();
+        }
+        return total;
+    }
+
+    /**
+     * @brief Gets the number of lookups that had to slide their line, over the caches of every live thread.
+     * @return The number of misses.
+     */
+    public static long totalMisses() {
+        long total = 0;
+        for (LineCache cache : live()) {
+            total += cache.getMisses();
+        }
+        return total;
+    }
+
+    /**
+     * @brief Gets the number of entries replaced to make room, over the caches of every live thread.
+     * @return The number of evictions.
+     */
+    public static long totalEvictions() {
+        long total = 0;
+        for (LineCache cache : live()) {
+            total += cache.getEvictions();
+        }
+        return total;
+    }
+
+    /**
+     * @brief Gets the share of lookups that found their line, over the caches of every live thread.
+     * @return The hit rate, between 0 and 1, or 0 before any lookup.
+     */
+    public static double hitRate() {
+        long hit = totalHits();
+        long lookups = hit + totalMisses();
+        return lookups == 0 ? 0 : (double) hit / lookups;
+    }
+
+    //Gets the cache of the calling thread for lines of a number of cells, only when caching is on
+    static LineCache forThread(int cells) {
+        if (!enabled)
+            return null;
+        LineCache[] caches = THREAD_CACHES.get();
+        LineCache cache = caches[cells];
+        if (cache == null) {
+            cache = new LineCache(cells, DEFAULT_ENTRIES);
+            caches[cells] = cache;
+            CACHES.removeIf(reference -> reference.get() == null);
+            CACHES.add(new WeakReference<LineCache>(cache));
+        }
+        return cache;
+    }
+
+    //Gets the caches of the threads that are still alive, or not yet collected
+    private static List<LineCache> live() {
+        List<LineCache> caches = new ArrayList<LineCache>();
+        for (WeakReference<LineCache> reference : CACHES) {
+            LineCache cache = reference.get();
+            if (cache != null)
+                caches.add(cache);
+        }
+        return caches;
+    }
+
+    //Finds the entry of a packed line, sliding the line and storing the result when it is not cached
+    int lookup(long key) {
+        int set = (int) ((key * 0x9E3779B97F4A7C15L) >>> setShift) * WAYS;
+        if (setShift == 64)
+            set = 0;
+        for (int way = set; way < set + WAYS; way++) {
+            if (keys[way] == key) {
+                marked[way] = true;
+                HITS.setOpaque(this, hits + 1);
+                return way;
+            }
+        }
+        MISSES.setOpaque(this, misses + 1);
+        int hand = hands[set / WAYS];
+        while (marked[set + hand]) {
+            marked[set + hand] = false;
+            hand = (hand + 1) & (WAYS - 1);
+        }
+        int entry = set + hand;
+        hands[set / WAYS] = (byte) ((hand + 1) & (WAYS - 1));
+        if (keys[entry] != -1L)
+            EVICTIONS.setOpaque(this, evictions + 1);
+        keys[entry] = key;
+        slide(key, entry);
+        return entry;
+    }
+
+    //Gets the number of lookups of this cache that found their line
+    long getHits() {
+        return (long) HITS.getOpaque(this);
+    }
+
+    //Gets the number of lookups of this cache that had to slide their line
+    long getMisses() {
+        return (long) MISSES.getOpaque(this);
+    }
+
+    //Gets the number of entries of this cache replaced to make room
+    long getEvictions() {
+        return (long) EVICTIONS.getOpaque(this);
+    }
+
+    //Gets the line an entry slides to
+    long line(int entry) {
+        return lines[entry];
+    }
+
+    //Gets the score an entry gains, in multiples of the base number
+    long gain(int entry) {
+        return gains[entry];
+    }
+
+    //Gets the number of tiles that left their cell when sliding the line of an entry
+    int opCount(int entry) {
+        return opCounts[entry];
+    }
+
+    //Copies the LineKernel log of the slide of an entry into an array with room for a line, and
+    //gets the number of entries copied
+    int copyLog(int entry, int[] into) {
+        int count = opCounts[entry];
+        System.arraycopy(ops, entry * cells, into, 0, count);
+        return count;
+    }
+
+    //Slides a packed line toward its first cell through LineKernel, as BoardT slides a line of its byte array
+    private void slide(long key, int entry) {
+        for (int k = 0; k < cells; k++) {
+            line[k] = (byte) ((key >>> (k * BITS)) & CELL);
+        }
+        int count = LineKernel.slide(line, 0, 1, cells, LineKernel.NO_CAP, log);
+        long moved = 0;
+        for (int k = 0; k < cells; k++) {
+            moved |= (long) line[k] << (k * BITS);
+        }
+        lines[entry] = moved;
+        gains[entry] = LineKernel.gain(log, count);
+        opCounts[entry] = (byte) count;
+        System.arraycopy(log, 0, ops, entry * cells, count);
+    }
+}
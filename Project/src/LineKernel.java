@@ -0,0 +1,118 @@
+/**
+ * @file LineKernel.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the one implementation of how a line of a board slides and merges.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief Slides one line of exponents toward its first cell, and logs where every tile went.
+* @details Every tile is either dropped into the next free cell or merged into the tile before it,
+* unless that tile was itself made by a merge in this move. The line is any run of cells of a byte
+* array a fixed step apart, so rows and columns of a flat board are slid in place without copying.
+* Each tile that leaves its cell is logged as one int, in the order the slide moves them: its place
+* along the line in bits 0-7, the place it ends up in or merges into in bits 8-15, its exponent in
+* bits 16-23 and bit 24 set when it merged. Every board slides through it: BoardT moves its lines
+* and tells its listeners what a move did from the same slide, BitBoard builds its row tables with it,
+* LineCache fills its entries from it and PersistentBoard slides the lines of its versions with it.
+*/
+final class LineKernel {
+    /** A cap on merging that no exponent reaches. */
+    static final int NO_CAP = Integer.MAX_VALUE;
+
+    private static final int MERGED = 1 << 24;
+
+    private LineKernel() {}
+
+    /**
+     * @brief Slides a line toward its first cell in place, merging equal neighbours once.
+     * @param cells The array the line is in.
+     * @param first The index of the cell the tiles slide toward.
+     * @param step The distance from one cell of the line to the next, negative to run backwards.
+     * @param count The number of cells in the line, at most 255.
+     * @param cap The exponent at which tiles stop merging, or NO_CAP.
+     * @param log Where every tile that left its cell is written, with room for count entries.
+     * @return The number of entries written to the log, 0 when the line did not change.
+     */
+    static int slide(byte[] cells, int first, int step, int count, int cap, int[] log) {
+        int ops = 0;
+        int target = 0;
+        //Nothing comes before the first tile, so it starts out as if the cell before it were merged
+        boolean lastMerged = true;
+        for (int k = 0, from = first; k < count; k++, from += step) {
+            int value = cells[from];
+            if (value == 0)
+                continue;
+            int last = first + (target - 1) * step;
+            if (!lastMerged && cells[last] == value && value < cap) {
+                cells[last] = (byte) (value + 1);
+                cells[from] = 0;
+                log[ops++] = k | (target - 1) << 8 | value << 16 | MERGED;
+                lastMerged = true;
+            }
+            else {
+                if (target != k) {
+                    cells[first + target * step] = (byte) value;
+                    cells[from] = 0;
+                    log[ops++] = k | target << 8 | value << 16;
+                }
+                lastMerged = false;
+                target++;
+            }
+        }
+        return ops;
+    }
+
+    /**
+     * @brief Gets the place along the line a logged tile left.
+     * @param op The log entry.
+     * @return The place, 0 being the first cell of the line.
+     */
+    static int from(int op) {
+        return op & 0xFF;
+    }
+
+    /**
+     * @brief Gets the place along the line a logged tile ended up in or merged into.
+     * @param op The log entry.
+     * @return The place, 0 being the first cell of the line.
+     */
+    static int to(int op) {
+        return (op >>> 8) & 0xFF;
+    }
+
+    /**
+     * @brief Gets the exponent a logged tile had before it moved.
+     * @param op The log entry.
+     * @return The exponent of the tile.
+     */
+    static int exponent(int op) {
+        return (op >>> 16) & 0xFF;
+    }
+
+    /**
+     * @brief Determines whether a logged tile merged into the tile before it.
+     * @param op The log entry.
+     * @return True when the tile merged, false when it only moved.
+     */
+    static boolean merged(int op) {
+        return (op & MERGED) != 0;
+    }
+
+    /**
+     * @brief Adds up the score the logged tiles gained.
+     * @param log The log written by slide.
+     * @param ops The number of entries in the log.
+     * @return The score, in multiples of the base number.
+     */
+    static long gain(int[] log, int ops) {
+        long gain = 0;
+        for (int op = 0; op < ops; op++) {
+            if (merged(log[op]))
+                gain += 1L << exponent(log[op]);
+        }
+        return gain;
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * @file MetricsRegistry.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a registry of named metrics that monitoring pulls from.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+* @brief Named counters and histograms, read only when they are scraped.
+* @details Nothing is pushed anywhere: a counter is a function read when the registry is scraped,
+* so keeping one up to date costs whatever its source costs and nothing more. A scrape writes every
+* metric in the Prometheus text format, in name order, and can also be served over HTTP.
+*/
+public class MetricsRegistry {
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<String, Metric>();
+
+    /**
+     * @brief Adds a counter, replacing any metric of the same name.
+     * @param name The name of the counter, which should end in _total.
+     * @param help What the counter counts.
+     * @param value Reads the current count.
+     */
+    public void counter(String name, String help, LongSupplier value) {
+        metrics.put(name, new Metric(help, value, null));
+    }
+
+    /**
+     * @brief Adds a latency histogram, replacing any metric of the same name.
+     * @param name The name of the histogram, which should end in the unit, _nanoseconds.
+     * @param help What the histogram times.
+     * @param histogram The histogram read when scraped.
+     */
+    public void histogram(String name, String help, LatencyHistogram histogram) {
+        metrics.put(name, new Metric(help, null, histogram));
+    }
+
+    /**
+     * @brief Reads a counter, or the number of latencies recorded by a histogram.
+     * @param name The name of the metric.
+     * @return The value of the metric.
+     * @throws IllegalArgumentException When there is no metric with that name.
+     */
+    public long get(String name) {
+        Metric metric = metrics.get(name);
+        if (metric == null)
+            throw new IllegalArgumentException("No metric named " + name);
+        return metric.counter != null ? metric.counter.getAsLong() : metric.histogram.getCount();
+    }
+
+    /**
+     * @brief Writes out every metric.
+     * @return The metrics in the Prometheus text exposition format.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            String name = entry.getKey();
+            Metric metric = entry.getValue();
+            out.append("# HELP ").append(name).append(' ').append(metric.help).append('\n');
+            if (metric.counter != null) {
+                out.append("# TYPE ").append(name).append(" counter\n");
+                out.append(name).append(' ').append(metric.counter.getAsLong()).append('\n');
+                continue;
+            }
+            LatencyHistogram histogram = metric.histogram;
+            out.append("# TYPE ").append(name).append(" histogram\n");
+            long seen = 0;
+            //Only the buckets up to the largest latency are written, the rest would all repeat the count
+            for (int b = 0; b < LatencyHistogram.buckets() - 1 && seen < histogram.getCount(); b++) {
+                seen += histogram.getBucketCount(b);
+                out.append(name).append("_bucket{le=\"").append(LatencyHistogram.upperBound(b)).append("\"} ")
+                        .append(seen).append('\n');
+            }
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(histogram.getCount()).append('\n');
+            out.append(name).append("_sum ").append(histogram.getSum()).append('\n');
+            out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * @brief Serves scrapes of the registry over HTTP at /metrics, to this machine only.
+     * @param port The port to listen on, or 0 for any free port.
+     * @return The running server, which the caller stops.
+     * @throws IOException When the port cannot be listened on.
+     */
+    public HttpServer serve(int port) throws IOException {
+        return serve(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * @brief Serves scrapes of the registry over HTTP at /metrics on a given address.
+     * @param address The address to listen on, which other machines can scrape from unless it is a loopback address.
+     * @param port The port to listen on, or 0 for any free port.
+     * @return The running server, which the caller stops.
+     * @throws IOException When the port cannot be listened on.
+     */
+    public HttpServer serve(InetAddress address, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    //One registered metric, either a counter or a histogram
+    private static final class Metric {
+        private final String help;
+        private final LongSupplier counter;
+        private final LatencyHistogram histogram;
+
+        Metric(String help, LongSupplier counter, LatencyHistogram histogram) {
+            this.help = help;
+            this.counter = counter;
+            this.histogram = histogram;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * @file MonteCarloSolver.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains an automated player that picks moves by playing many games to the end.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+* @brief A Monte Carlo move selector for BoardT.
+* @details For every legal DirectionT the solver plays copies of the board to the end with the
+* random or greedy Policy, and picks the direction with the best average final score. Playouts
+* run in batches on a work-stealing pool and stop early once the time budget of the move is spent,
+* the game being played when time runs out included. The pool is stopped by closing the solver.
+*/
+public class MonteCarloSolver implements Policy {
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+    //The number of tasks the playouts of each direction are split into
+    private static final int BATCHES = 8;
+    //The moves played between looks at the clock, which is slow next to a move
+    private static final int CLOCK_MOVES = 64;
+
+    private final int playouts;
+    private final long budgetNanos;
+    private final boolean greedy;
+    private final ExecutorService pool;
+
+    /**
+     * @brief Constructs the MonteCarloSolver object.
+     * @param playouts The most games played to the end for each legal direction.
+     * @param budgetMillis The time a move may take before the remaining playouts are skipped.
+     * @param greedy Whether playouts take the move that scores most instead of a random one.
+     * @param parallelism The number of threads to play games on.
+     */
+    public MonteCarloSolver(int playouts, long budgetMillis, boolean greedy, int parallelism) {
+        if (playouts < 1)
+            throw new IllegalArgumentException("There must be at least one playout");
+        this.playouts = playouts;
+        this.budgetNanos = budgetMillis * 1000000;
+        this.greedy = greedy;
+        this.pool = Executors.newWorkStealingPool(parallelism);
+    }
+
+    /**
+     * @brief Finds the move with the best average final score.
+     * @param board The board to be moved, which is left unchanged.
+     * @return The best direction, or null when no move is legal.
+     */
+    @Override
+    public DirectionT bestMove(BoardT board) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int moves = board.getLegalMoves();
+        List<Callable<Tally>> tasks = new ArrayList<Callable<Tally>>();
+        for (DirectionT direction : DIRECTIONS) {
+            if ((moves & (1 << direction.ordinal())) == 0)
+                continue;
+            for (int batch = 0; batch < BATCHES; batch++) {
+                int games = playouts / BATCHES + (batch < playouts % BATCHES ? 1 : 0);
+                if (games > 0)
+                    tasks.add(() -> playBatch(board, direction, games, deadline));
+            }
+        }
+        if (tasks.isEmpty())
+            return null;
+        double[] total = new double[DIRECTIONS.length];
+        int[] count = new int[DIRECTIONS.length];
+        try {
+            for (Future<Tally> future : pool.invokeAll(tasks)) {
+                Tally tally = future.get();
+                total[tally.direction.ordinal()] += tally.total;
+                count[tally.direction.ordinal()] += tally.games;
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("A playout failed", e.getCause());
+        }
+        DirectionT best = null;
+        double bestAverage = Double.NEGATIVE_INFINITY;
+        for (DirectionT direction : DIRECTIONS) {
+            if ((moves & (1 << direction.ordinal())) == 0)
+                continue;
+            //Every batch counts a game, finished or cut short, but a direction whose playouts were
+            //interrupted still beats no move at all
+            double average = count[direction.ordinal()] == 0 ? -1 : total[direction.ordinal()] / count[direction.ordinal()];
+            if (average > bestAverage) {
+                bestAverage = average;
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief Stops the threads of the solver once it is no longer needed.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    //Plays a number of games that start with a given move, until they are over or the time is up.
+    //A game cut short by the deadline only counts when no game of the batch finished, so that every
+    //direction still has a result however little time there was
+    private Tally playBatch(BoardT board, DirectionT direction, int games, long deadline) {
+        Tally tally = new Tally(direction);
+        BoardT game = board.copy();
+        //Playouts are not moves of the game, so they are left out of the metrics
+        game.setMeasured(false);
+        //Each batch spawns from its own stream, since the copy would repeat the spawns of the board
+        SplitRandom random = SplitRandom.forThread();
+        game.setRandom(random.split());
+        Policy policy = greedy ? Policy.greedy(random.nextLong()) : Policy.random(random.nextLong());
+        for (int g = 0; g < games && (g == 0 || System.nanoTime() < deadline); g++) {
+            game.copyFrom(board);
+            game.move(direction);
+            game.addCell();
+            for (int moves = 1; game.getStatus(); moves++) {
+                if (moves % CLOCK_MOVES == 0 && System.nanoTime() >= deadline) {
+                    if (tally.games == 0) {
+                        tally.total = game.getScore();
+                        tally.games = 1;
+                    }
+                    return tally;
+                }
+                game.move(policy.bestMove(game));
+                game.addCell();
+            }
+            tally.total += game.getScore();
+            tally.games++;
+        }
+        return tally;
+    }
+
+    //The total final score of the games played from one direction
+    private static final class Tally {
+        private final DirectionT direction;
+        private long total;
+        private int games;
+
+        Tally(DirectionT direction) {
+            this.direction = direction;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/**
+ * @file NioGameServer.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a non-blocking TCP server that hosts a GameSession for every connection.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+* @brief Serves the same line protocol as GameServer from a single selector thread.
+* @details Every command that arrived in one read is handled before anything is written, so a bot
+* that pipelines its moves gets all of their frames back in one gathering write. Input and output
+* go through direct buffers taken from a pool, so a busy server allocates no buffers per command.
+* A connection whose client stops reading has its commands left unhandled, and is no longer read
+* from, until its output drains. A command that fails only closes its own connection. Frames are
+* plain ASCII, so they are copied into the buffers without a charset encoder.
+*/
+public class NioGameServer implements Closeable {
+    private static final int BUFFER_BYTES = 4096;
+    //The most buffers handed to one gathering write
+    private static final int GATHER = 16;
+    //A connection stops having its commands handled and being read once this many buffers are waiting for a slow client
+    private static final int MAX_PENDING = 64;
+    //A line longer than this is cut short, so a client cannot make the server hold on to any amount of input
+    private static final int MAX_LINE = 256;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final SessionManager sessions;
+    private final BufferPool pool = new BufferPool(BUFFER_BYTES, 1024);
+    //The frames of the commands of one read, only touched by the selector thread
+    private final StringBuilder frames = new StringBuilder();
+    private final ByteBuffer[] gather = new ByteBuffer[GATHER];
+    private volatile boolean running = true;
+
+    /**
+     * @brief Constructs the NioGameServer object, listening on a local port.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param sessions The sessions every connection is given one of.
+     * @throws IOException When the port cannot be listened on.
+     */
+    public NioGameServer(int port, SessionManager sessions) throws IOException {
+        this.sessions = sessions;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * @brief Serves every connection on the calling thread until the server is closed.
+     * @throws IOException When the selector fails.
+     */
+    public void serve() throws IOException {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    try {
+                        if (key.isReadable())
+                            read(key);
+                        if (key.isValid() && key.isWritable())
+                            process(key);
+                    }
+                    catch (IOException e) {
+                        //The client went away, which ends the session the same way quitting does
+                        disconnect(key);
+                    }
+                    catch (RuntimeException e) {
+                        //A command that broke its session only closes that connection, and the rest are served on
+                        frames.setLength(0);
+                        disconnect(key);
+                    }
+                }
+            }
+        }
+        finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() != null)
+                    disconnect(key);
+            }
+            server.close();
+            selector.close();
+        }
+    }
+
+    /**
+     * @brief Gets the port the server listens on.
+     * @return The local port.
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * @brief Stops the server, which closes every connection from the thread serving them.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    //Takes every waiting connection and sends each its greeting, closing any that fails to start
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            Connection connection = null;
+            SelectionKey key = null;
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                connection = new Connection(sessions.open(), pool.take());
+                key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connection.session.start(frames);
+                queue(connection);
+                write(key);
+            }
+            catch (IOException | RuntimeException e) {
+                frames.setLength(0);
+                if (key != null) {
+                    disconnect(key);
+                    continue;
+                }
+                channel.close();
+                if (connection != null) {
+                    sessions.close(connection.session);
+                    pool.give(connection.in);
+                }
+            }
+        }
+    }
+
+    //Reads whatever has come in, then handles it
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (channel.read(connection.in) < 0) {
+            disconnect(key);
+            return;
+        }
+        process(key);
+    }
+
+    //Handles the commands that have come in and sends their frames, for as long as the client keeps up with them
+    private void process(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        do {
+            handle(connection);
+            write(key);
+        } while (key.isValid() && connection.in.position() > 0 && connection.out.size() < MAX_PENDING);
+    }
+
+    //Handles every whole line that has come in, one command at a time, stopping once the output
+    //waiting for the client reaches MAX_PENDING buffers, and keeps the rest of the input for later
+    private void handle(Connection connection) {
+        ByteBuffer in = connection.in;
+        in.flip();
+        while (in.hasRemaining() && pending(connection) < MAX_PENDING) {
+            byte b = in.get();
+            if (b == '\n') {
+                if (!connection.closing && !connection.session.handle(connection.line.toString(), frames))
+                    connection.closing = true;
+                connection.line.setLength(0);
+            }
+            else if (b != '\r' && connection.line.length() < MAX_LINE) {
+                connection.line.append((char) (b & 0xFF));
+            }
+        }
+        in.compact();
+        queue(connection);
+    }
+
+    //Counts the buffers of output a connection has waiting, including the frames not yet queued
+    private int pending(Connection connection) {
+        return connection.out.size() + (frames.length() + BUFFER_BYTES - 1) / BUFFER_BYTES;
+    }
+
+    //Copies the frames written so far into pooled buffers at the end of the output of a connection
+    private void queue(Connection connection) {
+        ByteBuffer buffer = null;
+        for (int i = 0; i < frames.length(); i++) {
+            if (buffer == null || !buffer.hasRemaining()) {
+                if (buffer != null)
+                    connection.out.add(buffer.flip());
+                buffer = pool.take();
+            }
+            buffer.put((byte) frames.charAt(i));
+        }
+        if (buffer != null)
+            connection.out.add(buffer.flip());
+        frames.setLength(0);
+    }
+
+    //Writes as much of the output of a connection as the socket takes, a batch of buffers at a time
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        ArrayDeque<ByteBuffer> out = connection.out;
+        while (!out.isEmpty()) {
+            int count = 0;
+            for (ByteBuffer buffer : out) {
+                gather[count++] = buffer;
+                if (count == GATHER)
+                    break;
+            }
+            long written = channel.write(gather, 0, count);
+            while (!out.isEmpty() && !out.peekFirst().hasRemaining()) {
+                pool.give(out.pollFirst());
+            }
+            if (written == 0)
+                break;
+        }
+        for (int i = 0; i < GATHER; i++) {
+            gather[i] = null;
+        }
+        if (out.isEmpty() && connection.closing) {
+            disconnect(key);
+            return;
+        }
+        int interest = out.size() < MAX_PENDING ? SelectionKey.OP_READ : 0;
+        if (!out.isEmpty())
+            interest |= SelectionKey.OP_WRITE;
+        key.interestOps(interest);
+    }
+
+    //Closes a connection and gives its buffers back to the pool
+    private void disconnect(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        key.attach(null);
+        key.cancel();
+        try {
+            key.channel().close();
+        }
+        catch (IOException e) {
+            //Nothing more can be done with a connection that will not close
+        }
+        if (connection == null)
+            return;
+        sessions.close(connection.session);
+        pool.give(connection.in);
+        while (!connection.out.isEmpty()) {
+            pool.give(connection.out.pollFirst());
+        }
+    }
+
+    //The state of one connection
+    private static final class Connection {
+        private final GameSession session;
+        private final ByteBuffer in;
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<ByteBuffer>();
+        //The part of a line that has come in without its end yet
+        private final StringBuilder line = new StringBuilder();
+        //Whether the client quit, so the connection is closed once its output is sent
+        private boolean closing;
+
+        Connection(GameSession session, ByteBuffer in) {
+            this.session = session;
+            this.in = in;
+        }
+    }
+
+    //A free list of direct buffers, only used from the selector thread
+    private static final class BufferPool {
+        private final ArrayDeque<ByteBuffer> free = new ArrayDeque<ByteBuffer>();
+        private final int bytes;
+        private final int limit;
+
+        BufferPool(int bytes, int limit) {
+            this.bytes = bytes;
+            this.limit = limit;
+        }
+
+        //Takes an empty buffer, making a new one when none are free
+        ByteBuffer take() {
+            ByteBuffer buffer = free.pollFirst();
+            return buffer != null ? buffer : ByteBuffer.allocateDirect(bytes);
+        }
+
+        //Gives a buffer back, keeping at most the limit of them around
+        void give(ByteBuffer buffer) {
+            buffer.clear();
+            if (free.size() < limit)
+                free.addFirst(buffer);
+        }
+    }
+
+    /**
+     * @brief Runs a server from the command line until it is killed.
+     * @details Arguments are the port, size and number, which default to 2048, 4 and 2.
+     * @param args The settings of the server.
+     * @throws IOException When the port cannot be listened on.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int number = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        NioGameServer server = new NioGameServer(port, new SessionManager(size, number));
+        System.out.println("Serving 2048 on port " + server.getPort());
+        server.serve();
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * @file OffHeapTranspositionTable.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a lock-free transposition table held outside the Java heap.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* @brief A TranspositionTable of a fixed number of bytes in direct buffers, shared without locks.
+* @details Every entry is three longs: a check word, the value and a word packing the depth, the best
+* move and the age of the search that stored it. The check word is the key XORed with the other two,
+* so an entry that two threads wrote at once, or that a reader saw half written, no longer checks out
+* against any key and is treated as empty. Entries sit in buckets of 4: a position can be stored in
+* any entry of its bucket, and when the bucket is full the entry to replace is one from an earlier
+* search, then the shallowest one. The garbage collector never scans the table, so it can span many
+* gigabytes, split over buffers of at most 1.5 GB each; it is limited by -XX:MaxDirectMemorySize
+* rather than the heap, and freed once the table is no longer reachable.
+*/
+public class OffHeapTranspositionTable implements TranspositionTable {
+    /** The bytes each entry takes up. */
+    public static final int ENTRY_BYTES = 24;
+
+    private static final int WAYS = 4;
+    //Entries in each buffer, so that no buffer goes past the 2 GB a ByteBuffer can index
+    private static final int CHUNK_SHIFT = 26;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private static final long MAX_ENTRIES = 1L << 30;
+    //The meta word of an entry: depth in bits 0-7, best move plus one in bits 8-10, age in bits 16-47,
+    //and bit 63 set so that a stored entry never has a meta word of 0
+    private static final long STORED = 1L << 63;
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+
+    private final ByteBuffer[] chunks;
+    private final long entries;
+    private final long bucketMask;
+    private volatile int age = 1;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder overwrites = new LongAdder();
+
+    /**
+     * @brief Constructs the OffHeapTranspositionTable object.
+     * @details The table takes the largest power of two of entries that fits, between 4 and 2^30 entries.
+     * @param bytes The memory the table may take up.
+     */
+    public OffHeapTranspositionTable(long bytes) {
+        if (bytes < WAYS * ENTRY_BYTES)
+            throw new IllegalArgumentException("The table needs at least " + WAYS * ENTRY_BYTES + " bytes");
+        this.entries = Math.min(MAX_ENTRIES, Long.highestOneBit(bytes / ENTRY_BYTES));
+        this.bucketMask = entries / WAYS - 1;
+        int perChunk = (int) Math.min(entries, 1L << CHUNK_SHIFT);
+        this.chunks = new ByteBuffer[(int) (entries / perChunk)];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = ByteBuffer.allocateDirect(perChunk * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * @brief Starts a new search, so that entries from earlier searches are replaced first.
+     */
+    @Override
+    public void newSearch() {
+        age++;
+    }
+
+    /**
+     * @brief Looks up the value of a position.
+     * @param key The key of the position.
+     * @param depth The depth the position is to be searched to.
+     * @return The stored value, or NaN when the position was not searched at least that deep.
+     */
+    @Override
+    public double get(long key, int depth) {
+        long first = bucket(key);
+        boolean occupied = false;
+        for (long entry = first; entry < first + WAYS; entry++) {
+            ByteBuffer chunk = chunk(entry);
+            int at = offset(entry);
+            long meta = chunk.getLong(at + 16);
+            if (meta == 0)
+                continue;
+            long value = chunk.getLong(at + 8);
+            if ((chunk.getLong(at) ^ value ^ meta) != key) {
+                occupied = true;
+                continue;
+            }
+            if ((int) (meta & 0xFF) >= depth) {
+                hits.increment();
+                return Double.longBitsToDouble(value);
+            }
+            break;
+        }
+        misses.increment();
+        if (occupied)
+            collisions.increment();
+        return Double.NaN;
+    }
+
+    /**
+     * @brief Stores the value of a position and the move found best for it.
+     * @param key The key of the position.
+     * @param depth The depth the position was searched to, from 0 to 255.
+     * @param value The value found by the search.
+     * @param best The best move from the position, or null when there is none.
+     */
+    @Override
+    public void put(long key, int depth, double value, DirectionT best) {
+        long first = bucket(key);
+        int current = age;
+        long victim = -1;
+        int victimRank = Integer.MAX_VALUE;
+        for (long entry = first; entry < first + WAYS; entry++) {
+            ByteBuffer chunk = chunk(entry);
+            int at = offset(entry);
+            long meta = chunk.getLong(at + 16);
+            if (meta == 0 || (chunk.getLong(at) ^ chunk.getLong(at + 8) ^ meta) == key) {
+                victim = entry;
+                victimRank = -1;
+                break;
+            }
+            //Entries of earlier searches rank below every entry of this one, then shallower below deeper
+            boolean stale = (int) (meta >>> 16) != current;
+            int rank = (stale ? 0 : 256) + (int) (meta & 0xFF);
+            if (rank < victimRank) {
+                victim = entry;
+                victimRank = rank;
+            }
+        }
+        if (victimRank > 256 + depth)
+            return;
+        if (victimRank >= 0)
+            overwrites.increment();
+        long meta = STORED | ((long) current & 0xFFFFFFFFL) << 16 | (best == null ? 0 : best.ordinal() + 1) << 8 | (depth & 0xFF);
+        long bits = Double.doubleToRawLongBits(value);
+        ByteBuffer chunk = chunk(victim);
+        int at = offset(victim);
+        chunk.putLong(at + 8, bits);
+        chunk.putLong(at + 16, meta);
+        chunk.putLong(at, key ^ bits ^ meta);
+    }
+
+    /**
+     * @brief Looks up the best move stored with a position.
+     * @param key The key of the position.
+     * @return The move, or null when the position is not stored or was stored without one.
+     */
+    @Override
+    public DirectionT getBest(long key) {
+        long first = bucket(key);
+        for (long entry = first; entry < first + WAYS; entry++) {
+            ByteBuffer chunk = chunk(entry);
+            int at = offset(entry);
+            long meta = chunk.getLong(at + 16);
+            if (meta != 0 && (chunk.getLong(at) ^ chunk.getLong(at + 8) ^ meta) == key) {
+                int move = (int) (meta >>> 8) & 7;
+                return move == 0 ? null : DIRECTIONS[move - 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @brief Gets the number of entries the table can hold.
+     * @return The capacity of the table.
+     */
+    @Override
+    public int capacity() {
+        return (int) entries;
+    }
+
+    /**
+     * @brief Gets the memory the table takes up.
+     * @return The bytes of every buffer of the table.
+     */
+    public long getBytes() {
+        return entries * ENTRY_BYTES;
+    }
+
+    /**
+     * @brief Gets the number of lookups that found a value deep enough.
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @brief Gets the number of lookups that found no value deep enough.
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @brief Gets the number of misses whose bucket held other positions, which a larger table might have kept.
+     * @return The number of collisions.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * @brief Gets the number of stores that replaced another position.
+     * @return The number of overwrites.
+     */
+    public long getOverwrites() {
+        return overwrites.sum();
+    }
+
+    //Finds the first entry of the bucket of a key, mixing the high bits in as ArrayTranspositionTable does
+    private long bucket(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return ((h >>> 24) & bucketMask) * WAYS;
+    }
+
+    //Gets the buffer an entry is in
+    private ByteBuffer chunk(long entry) {
+        return chunks[(int) (entry >>> CHUNK_SHIFT)];
+    }
+
+    //Gets where an entry starts in its buffer
+    private int offset(long entry) {
+        return (int) (entry & CHUNK_MASK) * ENTRY_BYTES;
+    }
+}
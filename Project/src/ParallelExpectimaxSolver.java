@@ -0,0 +1,218 @@
+/**
+ * @file ParallelExpectimaxSolver.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains an expectimax search that splits its upper layers across a ForkJoinPool.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+* @brief An ExpectimaxSolver that searches on many cores at once.
+* @details Every legal move at the root, and every outcome of the chance nodes in the top
+* layers of the search, become separate fork-join tasks. Below those layers each task searches
+* on its own thread exactly like ExpectimaxSolver, making its moves into buffers of its own. All
+* tasks share one TranspositionTable, which must be safe to use from many threads at once.
+*/
+public class ParallelExpectimaxSolver extends ExpectimaxSolver {
+    private static final DirectionT[] DIRECTIONS = DirectionT.values();
+
+    private final ForkJoinPool pool;
+    private final int splitLayers;
+
+    /**
+     * @brief Constructs the ParallelExpectimaxSolver object with the default heuristic.
+     * @param depth The number of moves to look ahead, at least 1.
+     * @param parallelism The number of threads to search with.
+     */
+    public ParallelExpectimaxSolver(int depth, int parallelism) {
+        this(depth, Heuristic.DEFAULT, new ConcurrentTranspositionTable(1 << 20), parallelism, 1);
+    }
+
+    /**
+     * @brief Constructs the ParallelExpectimaxSolver object.
+     * @param depth The number of moves to look ahead, at least 1.
+     * @param heuristic The evaluation of positions at the depth limit, which must be safe to call from many threads.
+     * @param table The table of positions already searched, shared by every thread, such as a
+     * ConcurrentTranspositionTable or an OffHeapTranspositionTable.
+     * @param parallelism The number of threads to search with.
+     * @param splitLayers The number of chance node layers below the root that are split into tasks.
+     */
+    public ParallelExpectimaxSolver(int depth, Heuristic heuristic, TranspositionTable table,
+                                    int parallelism, int splitLayers) {
+        super(depth, heuristic, table);
+        if (splitLayers < 0)
+            throw new IllegalArgumentException("Split layers cannot be negative");
+        this.pool = new ForkJoinPool(parallelism);
+        this.splitLayers = splitLayers;
+    }
+
+    /**
+     * @brief Finds the best move for a board, searching every legal move in parallel.
+     * @param board The board to be moved, which is left unchanged.
+     * @return The direction with the best expected value, or null when no move is legal.
+     */
+    @Override
+    public DirectionT bestMove(BoardT board) {
+        getTable().newSearch();
+        return pool.invoke(new RootTask(board));
+    }
+
+    /**
+     * @brief Gets the number of threads the solver searches with.
+     * @return The parallelism of the pool.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * @brief Stops the threads of the solver once it is no longer needed.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @brief Stops the threads of the solver, the same as shutdown.
+     */
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    //Splits the outcomes of chance nodes near the root into one task each, stepping through them with
+    //the same cursor as the search below those layers
+    @Override
+    double spawnTotal(BoardT board, int depth, Frames frames) {
+        if (depth < getDepth() - splitLayers)
+            return super.spawnTotal(board, depth, frames);
+        SpawnOutcomes outcomes = frames.outcomes[depth].reset(board);
+        ArrayList<SpawnTask> tasks = new ArrayList<SpawnTask>(outcomes.getCount());
+        while (outcomes.next()) {
+            tasks.add(new SpawnTask(outcomes.apply(null), outcomes.getChance(), depth));
+        }
+        double total = 0;
+        for (SpawnTask task : RecursiveTask.invokeAll(tasks)) {
+            total += task.join();
+        }
+        return total;
+    }
+
+    //Searches each legal move of the root on its own task. Tasks are never serialized, as they hold the
+    //boards and the solver they search with, so none of them defines a serialVersionUID
+    @SuppressWarnings("serial")
+    private class RootTask extends RecursiveTask<DirectionT> {
+        private final BoardT board;
+
+        RootTask(BoardT board) {
+            this.board = board;
+        }
+
+        @Override
+        protected DirectionT compute() {
+            int moves = board.getLegalMoves();
+            ArrayList<MoveTask> tasks = new ArrayList<MoveTask>();
+            for (DirectionT direction : DIRECTIONS) {
+                if ((moves & (1 << direction.ordinal())) != 0)
+                    tasks.add(new MoveTask(board, direction));
+            }
+            DirectionT best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (MoveTask task : RecursiveTask.invokeAll(tasks)) {
+                double value = task.join();
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = task.direction;
+                }
+            }
+            if (best != null)
+                getTable().put(playerKey(board), getDepth(), bestValue, best);
+            return best;
+        }
+    }
+
+    //The value of one legal move at the root
+    @SuppressWarnings("serial")
+    private class MoveTask extends RecursiveTask<Double> {
+        private final BoardT board;
+        private final DirectionT direction;
+
+        MoveTask(BoardT board, DirectionT direction) {
+            this.board = board;
+            this.direction = direction;
+        }
+
+        @Override
+        protected Double compute() {
+            return moveValue(board, direction, getDepth(), new Frames(getDepth(), board));
+        }
+    }
+
+    //The value of one outcome of a chance node, weighted by its chance
+    @SuppressWarnings("serial")
+    private class SpawnTask extends RecursiveTask<Double> {
+        private final BoardT board;
+        private final double chance;
+        private final int depth;
+
+        SpawnTask(BoardT board, double chance, int depth) {
+            this.board = board;
+            this.chance = chance;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Double compute() {
+            return chance * playerValue(board, depth, new Frames(depth, board));
+        }
+    }
+
+    /**
+     * @brief Measures how much faster the parallel search is than a single thread.
+     * @details Plays the same positions with ExpectimaxSolver and with this solver and prints both
+     * times. Arguments are the depth, board size and parallelism, which default to 4, 4 and the
+     * number of cores, and optionally the megabytes of an OffHeapTranspositionTable for the parallel
+     * search to share in place of the striped one.
+     * @param args The depth, size, parallelism and off-heap table size.
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        //Collects positions from a game played by a shallow search
+        ArrayList<BoardT> positions = new ArrayList<BoardT>();
+        BoardT board = new BoardT(size, 2);
+        ExpectimaxSolver player = new ExpectimaxSolver(1);
+        while (board.getStatus() && positions.size() < 40) {
+            positions.add(board.copy());
+            board.move(player.bestMove(board));
+            board.addCell();
+        }
+        ExpectimaxSolver sequential = new ExpectimaxSolver(depth, Heuristic.DEFAULT, new ArrayTranspositionTable(1 << 20));
+        TranspositionTable table = args.length > 3
+                ? new OffHeapTranspositionTable(Long.parseLong(args[3]) << 20)
+                : new ConcurrentTranspositionTable(1 << 20);
+        ParallelExpectimaxSolver parallel = new ParallelExpectimaxSolver(depth, Heuristic.DEFAULT, table, parallelism, 1);
+        long sequentialTime = time(sequential, positions);
+        long parallelTime = time(parallel, positions);
+        parallel.shutdown();
+        System.out.println("Positions: " + positions.size() + " | Depth: " + depth + " | Size: " + size);
+        System.out.println("Sequential: " + sequentialTime / 1000000 + " ms");
+        System.out.println("Parallel (" + parallelism + " threads): " + parallelTime / 1000000 + " ms");
+        System.out.printf("Speedup: %.2fx%n", (double) sequentialTime / parallelTime);
+    }
+
+    //Times how long a solver takes to pick a move for every position
+    private static long time(ExpectimaxSolver solver, ArrayList<BoardT> positions) {
+        long start = System.nanoTime();
+        for (BoardT position : positions) {
+            solver.bestMove(position);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,260 @@
+/**
+ * @file PersistentBoard.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains an immutable board whose versions share the rows they have in common.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief A board of 2048 that is never changed, where moving or spawning makes a new version.
+* @details Every row is a byte array of exponents that is never written once a version holds it, so a
+* new version only copies the rows that change and shares the rest with the version it came from. A
+* move left or right copies only the rows that slide, a spawn copies one row, and a move up or down
+* copies the rows that any column changes. Every version stays valid for as long as it is kept, which
+* makes undo, branching searches and handing a position to another thread free of copying.
+* Lines slide through the same LineKernel as BoardT, and spawns, wins and game over are worked out
+* from the rules BoardT keeps, so both boards always play the same game.
+*/
+public final class PersistentBoard {
+    private final int size;
+    private final int number;
+    private final byte[][] rows;
+    private final long score;
+    private final int emptyCount;
+    //The legal moves, worked out the first time they are asked for, or -1 until then
+    private int legalMoves = -1;
+
+    //Makes a version from rows that nothing else will write to
+    private PersistentBoard(int size, int number, byte[][] rows, long score, int emptyCount) {
+        this.size = size;
+        this.number = number;
+        this.rows = rows;
+        this.score = score;
+        this.emptyCount = emptyCount;
+    }
+
+    /**
+     * @brief Constructs a PersistentBoard with the same tiles and score as a BoardT.
+     * @param board The board to copy.
+     * @return The first version of the board.
+     */
+    public static PersistentBoard of(BoardT board) {
+        int size = board.getSize();
+        byte[][] rows = new byte[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                rows[i][j] = (byte) board.getExponent(i, j);
+            }
+        }
+        return new PersistentBoard(size, board.getNumber(), rows, board.getScore(), board.getEmptyCount());
+    }
+
+    /**
+     * @brief Makes a BoardT with the tiles and score of this version.
+     * @param random The generator the new board spawns from, which it takes over.
+     * @return A board that can be played on from this version.
+     */
+    public BoardT toBoard(SplitRandom random) {
+        BoardT board = new BoardT(size, number, random, 0);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (rows[i][j] != 0)
+                    board.addCell(i, j, rows[i][j]);
+            }
+        }
+        board.setScore(score);
+        return board;
+    }
+
+    /**
+     * @brief Moves the board in a direction.
+     * @param direction The direction the board is to be moved in.
+     * @return The version after the move, which is this version when the move changes nothing.
+     */
+    public PersistentBoard move(DirectionT direction) {
+        if ((getLegalMoves() & (1 << direction.ordinal())) == 0)
+            return this;
+        boolean rowMove = direction == DirectionT.Left || direction == DirectionT.Right;
+        boolean reverse = direction == DirectionT.Right || direction == DirectionT.Down;
+        int first = reverse ? size - 1 : 0;
+        int step = reverse ? -1 : 1;
+        byte[][] moved = rows.clone();
+        byte[] line = new byte[size];
+        int[] log = new int[size];
+        long gain = 0;
+        int merges = 0;
+        for (int l = 0; l < size; l++) {
+            for (int k = 0; k < size; k++) {
+                line[k] = rowMove ? rows[l][k] : rows[k][l];
+            }
+            int ops = LineKernel.slide(line, first, step, size, LineKernel.NO_CAP, log);
+            if (ops == 0)
+                continue;
+            gain += LineKernel.gain(log, ops);
+            for (int op = 0; op < ops; op++) {
+                if (LineKernel.merged(log[op]))
+                    merges++;
+            }
+            if (rowMove) {
+                //The slid line becomes the new row as it is, and the next row slides in a fresh one
+                moved[l] = line;
+                line = new byte[size];
+                continue;
+            }
+            for (int k = 0; k < size; k++) {
+                if (moved[k][l] != line[k]) {
+                    //Copies a row the first time this move writes to it
+                    if (moved[k] == rows[k])
+                        moved[k] = rows[k].clone();
+                    moved[k][l] = line[k];
+                }
+            }
+        }
+        return new PersistentBoard(size, number, moved, score + (long) number * gain, emptyCount + merges);
+    }
+
+    /**
+     * @brief Adds a tile at an empty position.
+     * @param x The row of the empty cell.
+     * @param y The column of the empty cell.
+     * @param exponent The exponent of the new tile, 1 for the base number and 2 for double it.
+     * @return The version with the new tile, sharing every row but one with this version.
+     * @throws IllegalArgumentException When the cell is not empty.
+     */
+    public PersistentBoard spawn(int x, int y, int exponent) {
+        if (rows[x][y] != 0)
+            throw new IllegalArgumentException("The cell (" + x + ", " + y + ") is not empty");
+        byte[][] spawned = rows.clone();
+        spawned[x] = rows[x].clone();
+        spawned[x][y] = (byte) exponent;
+        return new PersistentBoard(size, number, spawned, score, emptyCount - 1);
+    }
+
+    /**
+     * @brief Adds a tile at a random empty position, with the chances BoardT spawns with.
+     * @details The empty cell is picked in row order, which is not the order BoardT picks from, so a
+     * seed spawns different tiles here than on a BoardT.
+     * @param random The generator the cell and tile are drawn from.
+     * @return The version with the new tile, or this version when the board is full.
+     */
+    public PersistentBoard spawnRandom(SplitRandom random) {
+        if (emptyCount == 0)
+            return this;
+        int pick = random.nextInt(emptyCount);
+        int exponent = random.nextDouble() < BoardT.DOUBLE_SPAWN_CHANCE ? BoardT.DOUBLE_SPAWN_EXPONENT : BoardT.SPAWN_EXPONENT;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (rows[i][j] == 0 && pick-- == 0)
+                    return spawn(i, j, exponent);
+            }
+        }
+        throw new IllegalStateException("The empty cells were miscounted");
+    }
+
+    /**
+     * @brief Gets the exponent of a cell.
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The exponent, 0 when the cell is empty.
+     */
+    public int getExponent(int x, int y) {
+        return rows[x][y];
+    }
+
+    /**
+     * @brief Gets the value of the tile in a cell.
+     * @param x The row of the cell.
+     * @param y The column of the cell.
+     * @return The value, 0 when the cell is empty.
+     */
+    public int getValue(int x, int y) {
+        return rows[x][y] == 0 ? 0 : number << (rows[x][y] - 1);
+    }
+
+    /**
+     * @brief Gets the size of the board.
+     * @return The number of rows and columns.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @brief Gets the base number of the game.
+     * @return The number that tiles are powers of two of.
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * @brief Gets the score of this version.
+     * @return The score.
+     */
+    public long getScore() {
+        return score;
+    }
+
+    /**
+     * @brief Gets the number of empty cells.
+     * @return The number of cells without a tile.
+     */
+    public int getEmptyCount() {
+        return emptyCount;
+    }
+
+    /**
+     * @brief Finds every direction the board can be moved in.
+     * @return A bitmask with bit d.ordinal() set for every DirectionT d that changes the board.
+     */
+    public int getLegalMoves() {
+        int moves = legalMoves;
+        if (moves < 0) {
+            moves = 0;
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    if (j + 1 < size)
+                        moves |= BoardT.pairMoves(rows[i][j], rows[i][j + 1], DirectionT.Right, DirectionT.Left);
+                    if (i + 1 < size)
+                        moves |= BoardT.pairMoves(rows[i][j], rows[i + 1][j], DirectionT.Down, DirectionT.Up);
+                }
+            }
+            legalMoves = moves;
+        }
+        return moves;
+    }
+
+    /**
+     * @brief Determines whether the game can still be played.
+     * @return Whether any move changes the board.
+     */
+    public boolean getStatus() {
+        return getLegalMoves() != 0;
+    }
+
+    /**
+     * @brief Determines whether the board holds the winning tile.
+     * @return Whether any tile is number * 1024 or larger.
+     */
+    public boolean hasWon() {
+        for (byte[] row : rows) {
+            for (byte exponent : row) {
+                if (exponent >= BoardT.WIN_EXPONENT)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    //Counts the rows this version holds the very same arrays of as another version
+    int sharedRows(PersistentBoard other) {
+        int shared = 0;
+        for (int i = 0; i < Math.min(size, other.size); i++) {
+            if (rows[i] == other.rows[i])
+                shared++;
+        }
+        return shared;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * @file Policy.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the interface for anything that picks the moves of a game.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief A player of BoardT games.
+* @details Implemented by the solvers, and by simple random and greedy players for baselines.
+* Policies that hold threads stop them when they are closed.
+*/
+public interface Policy extends AutoCloseable {
+    /**
+     * @brief Picks the next move of a game.
+     * @param board The board to be moved, which is left unchanged.
+     * @return A direction the board can move in, or null when no move is legal.
+     */
+    DirectionT bestMove(BoardT board);
+
+    /**
+     * @brief Lets go of whatever the policy holds, such as the threads of a solver.
+     * @details Does nothing unless the policy holds something.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * @brief Creates a player that picks a legal move at random.
+     * @param seed The seed of the moves picked.
+     * @return The random policy.
+     */
+    static Policy random(long seed) {
+        SplitRandom random = new SplitRandom(seed);
+        return board -> pick(board.getLegalMoves(), random);
+    }
+
+    /**
+     * @brief Creates a player that picks the legal move gaining the most score, or a random one when none merge.
+     * @param seed The seed of the moves picked when no move scores.
+     * @return The greedy policy.
+     */
+    static Policy greedy(long seed) {
+        SplitRandom random = new SplitRandom(seed);
+        return new Policy() {
+            private final BoardT[] successors = new BoardT[4];
+            private final long[] gains = new long[4];
+
+            @Override
+            public DirectionT bestMove(BoardT board) {
+                for (int d = 0; d < successors.length; d++) {
+                    if (successors[d] != null && (successors[d].getSize() != board.getSize() || successors[d].getNumber() != board.getNumber()))
+                        successors[d] = null;
+                }
+                int moves = board.successors(successors, gains);
+                DirectionT best = null;
+                long bestGain = 0;
+                for (DirectionT direction : DirectionT.values()) {
+                    if ((moves & (1 << direction.ordinal())) != 0 && gains[direction.ordinal()] > bestGain) {
+                        bestGain = gains[direction.ordinal()];
+                        best = direction;
+                    }
+                }
+                return best == null ? pick(moves, random) : best;
+            }
+        };
+    }
+
+    /**
+     * @brief Picks one of a set of moves at random.
+     * @param moves A bitmask of moves, as given by BoardT.getLegalMoves.
+     * @param random The source of the pick.
+     * @return One of the moves, or null when the mask is empty.
+     */
+    static DirectionT pick(int moves, SplitRandom random) {
+        if (moves == 0)
+            return null;
+        int n = random.nextInt(Integer.bitCount(moves));
+        for (int i = 0; i < n; i++) {
+            moves &= moves - 1;
+        }
+        return DirectionT.values()[Integer.numberOfTrailingZeros(moves)];
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * @file SessionManager.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the registry of every GameSession a server is hosting.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* @brief Hands out and keeps track of independent game sessions.
+* @details Sessions are opened and closed from any thread. Each one has its own BoardT, so
+* sessions never share any state with each other.
+*/
+public class SessionManager {
+    private final Map<Long, GameSession> sessions = new ConcurrentHashMap<Long, GameSession>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong opened = new AtomicLong();
+    private final int size;
+    private final int number;
+
+    /**
+     * @brief Constructs the SessionManager object.
+     * @param size The square board dimensions every session starts with.
+     * @param number The base game number every session starts with.
+     */
+    public SessionManager(int size, int number) {
+        this.size = size;
+        this.number = number;
+    }
+
+    /**
+     * @brief Opens a new session with a game already started.
+     * @return The new session.
+     */
+    public GameSession open() {
+        GameSession session = new GameSession(nextId.getAndIncrement(), size, number);
+        sessions.put(session.getId(), session);
+        opened.incrementAndGet();
+        return session;
+    }
+
+    /**
+     * @brief Closes a session, once its player has gone.
+     * @param session The session to close.
+     */
+    public void close(GameSession session) {
+        sessions.remove(session.getId());
+    }
+
+    /**
+     * @brief Finds an open session.
+     * @param id The id of the session.
+     * @return The session, or null when no open session has that id.
+     */
+    public GameSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * @brief Gets the number of sessions open right now.
+     * @return The number of open sessions.
+     */
+    public int getOpenSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * @brief Gets the number of sessions ever opened.
+     * @return The number of sessions.
+     */
+    public long getOpenedSessions() {
+        return opened.get();
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * @file Simulation.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Plays batches of games without a UserInterface and reports how they went.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+* @brief A headless driver that plays many games with a Policy.
+* @details Games are split across worker threads, each with its own Policy and game seeds
+* drawn from the simulation seed, so a run with a deterministic Policy can be repeated exactly.
+* The result holds the throughput of the run, the distribution of final scores and largest
+* tiles, and how many games reached the winning tile.
+*/
+public class Simulation {
+    private final int size;
+    private final int number;
+    private final long seed;
+    private final LongFunction<Policy> policies;
+
+    /**
+     * @brief Constructs the Simulation object.
+     * @param size The square board dimensions of every game.
+     * @param number The base game number of every game.
+     * @param seed The seed that the seed of every worker is drawn from.
+     * @param policies Makes the policy of a worker from its seed.
+     */
+    public Simulation(int size, int number, long seed, LongFunction<Policy> policies) {
+        this.size = size;
+        this.number = number;
+        this.seed = seed;
+        this.policies = policies;
+    }
+
+    /**
+     * @brief Plays a number of games to the end.
+     * @param games The number of games to play.
+     * @param threads The number of games played at once.
+     * @return The results of every game.
+     */
+    public Result run(int games, int threads) {
+        try {
+            return run(games, threads, null);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @brief Plays a number of games to the end, recording every one of them.
+     * @param games The number of games to play.
+     * @param threads The number of games played at once.
+     * @param record The file the games are appended to as GameRecorder records, or null to not record.
+     * @return The results of every game.
+     * @throws IOException When the record file cannot be opened or written.
+     */
+    public Result run(int games, int threads, Path record) throws IOException {
+        FileChannel file = record == null ? null : GameRecorder.openFile(record);
+        SplitRandom seeds = new SplitRandom(seed);
+        List<Callable<Result>> workers = new ArrayList<Callable<Result>>();
+        for (int w = 0; w < threads; w++) {
+            int share = games / threads + (w < games % threads ? 1 : 0);
+            long workerSeed = seeds.nextLong();
+            workers.add(() -> play(share, workerSeed, file));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Result total = new Result(number, 0);
+        long start = System.nanoTime();
+        try {
+            for (Future<Result> future : pool.invokeAll(workers)) {
+                total.add(future.get());
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("A game failed", e.getCause());
+        }
+        finally {
+            pool.shutdown();
+            if (file != null)
+                file.close();
+        }
+        total.nanos = System.nanoTime() - start;
+        return total;
+    }
+
+    //Plays the games of one worker with its own policy, recording them when there is a file, and
+    //closes the policy once they are over so that a solver stops its threads
+    private Result play(int games, long workerSeed, FileChannel file) throws IOException {
+        SplitRandom seeds = new SplitRandom(workerSeed);
+        try (Policy policy = policies.apply(seeds.nextLong())) {
+            GameRecorder recorder = file == null ? null : new GameRecorder();
+            Result result = new Result(number, games);
+            for (int g = 0; g < games; g++) {
+                long gameSeed = seeds.nextLong();
+                BoardT board = new BoardT(size, number, gameSeed);
+                if (recorder != null)
+                    recorder.begin(board, gameSeed);
+                long moves = 0;
+                while (board.getStatus()) {
+                    DirectionT direction = policy.bestMove(board);
+                    board.move(direction);
+                    int cell = board.addCell();
+                    if (recorder != null)
+                        recorder.turn(direction, cell, cell < 0 ? 0 : board.getExponent(cell / size, cell % size));
+                    moves++;
+                }
+                if (recorder != null)
+                    recorder.finish(file);
+                result.record(board, moves);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @brief The combined results of the games of a simulation.
+     */
+    public static class Result {
+        private final int number;
+        private long[] scores;
+        private int games;
+        private long moves;
+        private long wins;
+        private long nanos;
+        private boolean sorted;
+        //The number of games whose largest tile had each exponent
+        private final long[] maxTiles = new long[128];
+
+        Result(int number, int capacity) {
+            this.number = number;
+            this.scores = new long[Math.max(capacity, 16)];
+        }
+
+        //Adds one finished game
+        void record(BoardT board, long gameMoves) {
+            if (games == scores.length)
+                scores = Arrays.copyOf(scores, games * 2);
+            scores[games++] = board.getScore();
+            sorted = false;
+            moves += gameMoves;
+            maxTiles[board.getMaxExponent()]++;
+            if (board.hasWon())
+                wins++;
+        }
+
+        //Adds every game of another result
+        void add(Result other) {
+            if (games + other.games > scores.length)
+                scores = Arrays.copyOf(scores, games + other.games);
+            System.arraycopy(other.scores, 0, scores, games, other.games);
+            games += other.games;
+            sorted = false;
+            moves += other.moves;
+            wins += other.wins;
+            for (int k = 0; k < maxTiles.length; k++) {
+                maxTiles[k] += other.maxTiles[k];
+            }
+        }
+
+        /**
+         * @brief Gets the number of games played.
+         * @return The number of games.
+         */
+        public int getGames() {
+            return games;
+        }
+
+        /**
+         * @brief Gets the number of moves made over every game.
+         * @return The number of moves.
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * @brief Gets the share of games in which the winning tile was reached.
+         * @return The win rate, between 0 and 1.
+         */
+        public double getWinRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        /**
+         * @brief Gets the number of games finished per second of the run.
+         * @return The game throughput.
+         */
+        public double getGamesPerSecond() {
+            return games / (nanos / 1e9);
+        }
+
+        /**
+         * @brief Gets the number of moves made per second of the run.
+         * @return The move throughput.
+         */
+        public double getMovesPerSecond() {
+            return moves / (nanos / 1e9);
+        }
+
+        /**
+         * @brief Gets a percentile of the final scores.
+         * @param percentile The percentile, between 0 and 100.
+         * @return The final score below which that share of games ended.
+         */
+        public long getScorePercentile(double percentile) {
+            if (games == 0)
+                return 0;
+            if (!sorted) {
+                Arrays.sort(scores, 0, games);
+                sorted = true;
+            }
+            int index = (int) Math.ceil(percentile / 100 * games) - 1;
+            return scores[Math.max(0, Math.min(games - 1, index))];
+        }
+
+        /**
+         * @brief Gets the number of games whose largest tile had a given exponent.
+         * @param exponent The exponent k of the tile number * 2^(k-1).
+         * @return The number of games.
+         */
+        public long getMaxTileCount(int exponent) {
+            return maxTiles[exponent];
+        }
+
+        /**
+         * @brief Writes out every statistic of the run.
+         * @return A report of the throughput, scores, largest tiles and wins.
+         */
+        public String report() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Games: %d | Moves: %d | Time: %.2f s%n", games, moves, nanos / 1e9));
+            out.append(String.format("Games/sec: %.1f | Moves/sec: %.1f%n", getGamesPerSecond(), getMovesPerSecond()));
+            double mean = 0;
+            for (int g = 0; g < games; g++) {
+                mean += (double) scores[g] / games;
+            }
+            out.append(String.format("Score: mean %.1f | min %d | p50 %d | p90 %d | p99 %d | max %d%n", mean,
+                    getScorePercentile(0), getScorePercentile(50), getScorePercentile(90),
+                    getScorePercentile(99), getScorePercentile(100)));
+            out.append("Largest tile:\n");
+            for (int k = 1; k < maxTiles.length; k++) {
+                if (maxTiles[k] != 0)
+                    out.append(String.format("  %10d: %d (%.2f%%)%n", (long) number << (k - 1), maxTiles[k],
+                            100.0 * maxTiles[k] / games));
+            }
+            out.append(String.format("Win rate: %.2f%%%n", 100 * getWinRate()));
+            return out.toString();
+        }
+    }
+
+    /**
+     * @brief Runs a simulation from the command line and prints its report.
+     * @details Arguments are the number of games, size, number, policy, seed, threads and record
+     * file, which default to 1000, 4, 2, random, 0, the number of cores and no recording. The
+     * policy is one of random, greedy, expectimax:depth or montecarlo:playouts. Running with
+     * -Dsrc.metrics=true also prints the metrics of the engine.
+     * @param args The settings of the simulation.
+     * @throws IOException When the record file cannot be opened or written.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int number = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        String policy = args.length > 3 ? args[3] : "random";
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 0;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        Path record = args.length > 6 ? Paths.get(args[6]) : null;
+        Simulation simulation = new Simulation(size, number, seed, policyFor(policy));
+        System.out.println("Policy: " + policy + " | Size: " + size + " | Number: " + number + " | Seed: " + seed
+                + " | Threads: " + threads);
+        System.out.print(simulation.run(games, threads, record).report());
+        if (EngineMetrics.isEnabled())
+            System.out.print(EngineMetrics.registry().scrape());
+    }
+
+    //Makes the policies named on the command line
+    private static LongFunction<Policy> policyFor(String name) {
+        String[] parts = name.split(":");
+        switch (parts[0]) {
+            case "random":
+                return Policy::random;
+            case "greedy":
+                return Policy::greedy;
+            case "expectimax":
+                int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 2;
+                return s -> new ExpectimaxSolver(depth);
+            case "montecarlo":
+                int playouts = parts.length > 1 ? Integer.parseInt(parts[1]) : 100;
+                return s -> new MonteCarloSolver(playouts, 1000, false, 1);
+            default:
+                throw new IllegalArgumentException("Unknown policy " + name);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * @file SpawnOutcomes.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains a cursor over every tile the game could spawn on a board, with its probability.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief Steps through the outcomes of the chance node of a board, one spawn at a time.
+* @details Every empty cell gives two outcomes, the base number and then double it, and cells come
+* in row order. The tiles and their chances are the ones BoardT spawns from, so the outcomes of a
+* board always sum to a probability of 1. The cursor allocates nothing and can be reset onto another
+* board, so a search can keep one per depth. The board must not change while it is being stepped through.
+*/
+public final class SpawnOutcomes {
+    private BoardT board;
+    private boolean packed;
+    private long bits;
+    //The empty nibbles of the packed board not yet stepped through
+    private long remaining;
+    private int cells;
+    private int size;
+    private int empty;
+    private int cell;
+    private int x;
+    private int y;
+    private int exponent;
+
+    /**
+     * @brief Constructs the SpawnOutcomes object on no board, to be reset before it is used.
+     */
+    public SpawnOutcomes() {
+    }
+
+    /**
+     * @brief Constructs the SpawnOutcomes object before the first outcome of a board.
+     * @param board The board whose spawns are stepped through.
+     */
+    public SpawnOutcomes(BoardT board) {
+        reset(board);
+    }
+
+    /**
+     * @brief Moves the cursor back before the first outcome of a board.
+     * @param board The board whose spawns are stepped through.
+     * @return This cursor.
+     */
+    public SpawnOutcomes reset(BoardT board) {
+        this.board = board;
+        this.size = board.getSize();
+        this.cells = size * size;
+        this.packed = board.isPacked();
+        this.bits = packed ? board.key() : 0;
+        this.remaining = packed ? BitBoard.emptyMask(bits) : 0;
+        this.empty = board.getEmptyCount();
+        this.cell = -1;
+        this.exponent = BoardT.DOUBLE_SPAWN_EXPONENT;
+        return this;
+    }
+
+    /**
+     * @brief Moves on to the next outcome.
+     * @return Whether there was another outcome, false once every outcome has been stepped through.
+     */
+    public boolean next() {
+        if (cell >= 0 && exponent == BoardT.SPAWN_EXPONENT) {
+            exponent = BoardT.DOUBLE_SPAWN_EXPONENT;
+            return true;
+        }
+        if (packed) {
+            if (remaining == 0)
+                return false;
+            cell = Long.numberOfTrailingZeros(remaining) >>> 2;
+            remaining &= remaining - 1;
+            x = cell >>> 2;
+            y = cell & 3;
+        }
+        else {
+            do {
+                if (++cell >= cells)
+                    return false;
+                x = cell / size;
+                y = cell - x * size;
+            } while (board.getExponent(x, y) != 0);
+        }
+        exponent = BoardT.SPAWN_EXPONENT;
+        return true;
+    }
+
+    /**
+     * @brief Gets the number of outcomes of the board, two for every empty cell.
+     * @return The number of outcomes.
+     */
+    public int getCount() {
+        return 2 * empty;
+    }
+
+    /**
+     * @brief Gets the cell of the current outcome.
+     * @return The cell as row * size + column.
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * @brief Gets the row of the current outcome.
+     * @return The row of the cell.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @brief Gets the column of the current outcome.
+     * @return The column of the cell.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @brief Gets the exponent of the tile of the current outcome.
+     * @return 1 for the base number and 2 for double it.
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * @brief Gets the value of the tile of the current outcome.
+     * @return The base number or double it.
+     */
+    public int getValue() {
+        return board.getNumber() << (exponent - 1);
+    }
+
+    /**
+     * @brief Gets the chance of the tile of the current outcome, given the cell it spawns in.
+     * @return 0.9 for the base number and 0.1 for double it.
+     */
+    public double getChance() {
+        return exponent == BoardT.DOUBLE_SPAWN_EXPONENT ? BoardT.DOUBLE_SPAWN_CHANCE : 1 - BoardT.DOUBLE_SPAWN_CHANCE;
+    }
+
+    /**
+     * @brief Gets the probability of the current outcome, the cell being picked and then the tile.
+     * @return The chance of the tile over the number of empty cells.
+     */
+    public double getProbability() {
+        return getChance() / empty;
+    }
+
+    /**
+     * @brief Gets the packed board after the current outcome, only for a packed 4x4 board.
+     * @return The packed board with the new tile.
+     * @throws IllegalStateException When the board is not held as a packed long.
+     */
+    public long getPacked() {
+        if (!packed)
+            throw new IllegalStateException("Only 4x4 boards with tiles that fit in nibbles are packed");
+        return bits | (long) exponent << (4 * cell);
+    }
+
+    /**
+     * @brief Writes the board after the current outcome into another board.
+     * @param into The board of the same size and number that is overwritten, or null for a new copy.
+     * @return The board after the outcome, which is into unless it was null.
+     */
+    public BoardT apply(BoardT into) {
+        if (into == null)
+            into = board.copy();
+        else
+            into.copyFrom(board);
+        into.addCell(x, y, exponent);
+        return into;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * @file SplitRandom.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the seedable, splittable random number generator used to spawn tiles.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+* @brief A SplitMix64 random number generator, the algorithm behind SplittableRandom.
+* @details Unlike SplittableRandom its whole state is two longs that can be read back, so a
+* board can be copied or saved together with the exact stream of spawns still to come. A
+* generator is not safe to share between threads; each thread keeps its own root generator,
+* and split() hands out independent streams from it without any locking.
+*/
+public final class SplitRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    //Seeds the root generator of each thread, only touched once per thread
+    private static final AtomicLong SEEDER = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+    private static final ThreadLocal<SplitRandom> THREAD_ROOT =
+            ThreadLocal.withInitial(() -> new SplitRandom(mix64(SEEDER.getAndAdd(2 * GOLDEN_GAMMA))));
+
+    private long seed;
+    private final long gamma;
+
+    /**
+     * @brief Constructs the SplitRandom object from a seed.
+     * @param seed The seed, the same seed always gives the same stream.
+     */
+    public SplitRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    //Restores a generator from its state, the gamma has to be odd
+    SplitRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma | 1L;
+    }
+
+    /**
+     * @brief Gets a new stream split from the root generator of the calling thread.
+     * @return A generator independent of every other one handed out.
+     */
+    public static SplitRandom forThread() {
+        return THREAD_ROOT.get().split();
+    }
+
+    /**
+     * @brief Splits off a new generator whose stream is independent of this one.
+     * @return The new generator.
+     */
+    public SplitRandom split() {
+        return new SplitRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    /**
+     * @brief Copies the generator, so that both give the same stream from here on.
+     * @return The copy.
+     */
+    public SplitRandom copy() {
+        return new SplitRandom(seed, gamma);
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    //The seed part of the state
+    long getSeed() {
+        return seed;
+    }
+
+    //The gamma part of the state
+    long getGamma() {
+        return gamma;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    //Makes an odd gamma with enough bit changes to give a good stream
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the AnsiRenderer
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class TestAnsiRenderer {
+    BoardT board;
+    ByteArrayOutputStream out;
+    AnsiRenderer renderer;
+
+    @Before
+    public void setup(){
+        board = new BoardT(5, 3, 7L);
+        out = new ByteArrayOutputStream();
+        renderer = new AnsiRenderer(out);
+    }
+
+    @After
+    public void tearDown(){
+        board = null;
+        out = null;
+        renderer = null;
+    }
+
+    @Test
+    //Regular Test: The first frame clears the screen and draws the same text UserInterface prints
+    public void render_test1(){
+        renderer.render(board);
+        StringBuilder expected = new StringBuilder("\033[H\033[2JScore: 0\n");
+        UserInterface.appendBoard(board, expected);
+        expected.append("\033[10;1H\033[K");
+        assertEquals(expected.toString(), frame());
+    }
+
+    @Test
+    //Regular Test: Later frames only address the cells that changed
+    public void render_test2(){
+        renderer.render(board);
+        frame();
+        int[] before = exponents();
+        long score = board.getScore();
+        board.move(DirectionT.Left);
+        board.addCell();
+        int[] after = exponents();
+        int changed = 0;
+        for (int i = 0; i < before.length; i++) {
+            if (before[i] != after[i])
+                changed++;
+        }
+        renderer.render(board);
+        String frame = frame();
+        assertFalse(frame.contains("\033[2J"));
+        //Every changed cell has its own cursor move, as does a changed score, on top of the one below the board
+        int moves = changed + 1 + (board.getScore() != score ? 1 : 0);
+        assertEquals(moves, frame.split("H", -1).length - 1);
+    }
+
+    @Test
+    //Edge Case: A frame of an unchanged board only moves the cursor to the input line
+    public void render_test3(){
+        renderer.render(board);
+        frame();
+        renderer.render(board);
+        assertEquals("\033[10;1H\033[K", frame());
+        renderer.reset();
+        renderer.render(board);
+        assertTrue(frame().startsWith("\033[H\033[2J"));
+    }
+
+    @Test
+    //Regular Test: A message printed between frames is not cleared by a frame of the same board
+    public void message_test1(){
+        renderer.render(board);
+        frame();
+        renderer.message("Nothing to undo");
+        assertEquals("\033[9;1HNothing to undo\033[K\033[10;1H\033[K", frame());
+        renderer.render(board);
+        String frame = frame();
+        assertFalse(frame.contains("\033[9;1H"));
+        assertFalse(frame.contains("\033[J"));
+        assertFalse(frame.contains("\033[2J"));
+    }
+
+    @Test
+    //Regular Test: The message line is cleared once a frame changes the board
+    public void message_test2(){
+        renderer.render(board);
+        renderer.message("Invalid Input");
+        frame();
+        board.move(DirectionT.Left);
+        board.addCell();
+        renderer.render(board);
+        assertTrue(frame().contains("\033[9;1H\033[K"));
+        renderer.render(board);
+        assertFalse(frame().contains("\033[9;1H"));
+    }
+
+    @Test
+    //Edge Case: A message before the first frame is printed as a plain line
+    public void message_test3(){
+        renderer.message("Invalid Input");
+        assertEquals("Invalid Input\n", frame());
+    }
+
+    @Test
+    //Regular Test: The header is drawn above the score, and moves everything below it down
+    public void setHeader_test1(){
+        renderer.setHeader("Welcome\nControls\n");
+        renderer.render(board);
+        assertTrue(frame().startsWith("\033[H\033[2JWelcome\nControls\nScore: 0\n"));
+        renderer.render(board);
+        assertEquals("\033[12;1H\033[K", frame());
+    }
+
+    //Local Functions
+    private String frame() {
+        String frame = new String(out.toByteArray(), StandardCharsets.US_ASCII);
+        out.reset();
+        return frame;
+    }
+
+    private int[] exponents() {
+        int size = board.getSize();
+        int[] cells = new int[size * size];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = board.getExponent(i / size, i % size);
+        }
+        return cells;
+    }
+}
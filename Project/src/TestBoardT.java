@@ -9,8 +9,14 @@ package src;
 
 import org.junit.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -101,6 +107,24 @@ public class TestBoardT {
         assertTrue(count == 16);
     }
 
+    @Test
+    //Boundary Case: A custom board should fill every cell once, and then stay the same
+    public void addCell_test4(){
+        board = new BoardT(7,2);
+        for (int i = 0; i < 60; i++){
+            board.addCell();
+        }
+        int count = 0; //Keeps track of values that are non-zero in board
+        for (ArrayList<Integer> i: board.getBoard()){
+            for (int j : i){
+                if(j != 0){
+                    count ++;
+                }
+            }
+        }
+        assertTrue(count == 49);
+    }
+
     @Test
     //Edge Case: Values should not add altogether
     public void moveUp_test1(){
@@ -745,7 +769,535 @@ public class TestBoardT {
         assertFalse(board.getStatus());
     }
 
+    @Test
+    //Regular Test: Only the directions that change the board should be set
+    public void getLegalMoves_test1(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,8,16)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4,8,16,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,8,16)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4,8,16,32)));
+        board.setBoard(values);
+        int expected = (1 << DirectionT.Right.ordinal()) | (1 << DirectionT.Up.ordinal()) |
+                (1 << DirectionT.Down.ordinal());
+        assertTrue(board.getLegalMoves() == expected);
+        board.move(DirectionT.Right);
+        expected = (1 << DirectionT.Left.ordinal()) | (1 << DirectionT.Up.ordinal()) |
+                (1 << DirectionT.Down.ordinal());
+        assertTrue(board.getLegalMoves() == expected);
+    }
+
+    @Test
+    //Regular Test: The same on a custom board, where a full board with a pair can still move
+    public void getLegalMoves_test2(){
+        board = new BoardT(5,2);
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4,2,4,2,4)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4,2,4,2,4)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,2,8,8)));
+        board.setBoard(values);
+        int expected = (1 << DirectionT.Right.ordinal()) | (1 << DirectionT.Left.ordinal());
+        assertTrue(board.getLegalMoves() == expected);
+        assertTrue(board.getStatus());
+        board.move(DirectionT.Left);
+        assertFalse(board.hasWon());
+        expected = (1 << DirectionT.Right.ordinal()) | (1 << DirectionT.Down.ordinal());
+        assertTrue(board.getLegalMoves() == expected);
+    }
+
+    @Test
+    //Regular Test: Boards with a base number other than 2 should merge and score the same way
+    public void customNumber_test1(){
+        board = new BoardT(4,3);
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(3,3,6,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,12,12,24)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(3,0,0,3)));
+        board.setBoard(values);
+        board.move(DirectionT.Left);
+        ArrayList<ArrayList<Integer>> expected = new ArrayList<>();
+        expected.add(new ArrayList<Integer>(Arrays.asList(6,6,0,0)));
+        expected.add(new ArrayList<Integer>(Arrays.asList(24,24,0,0)));
+        expected.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        expected.add(new ArrayList<Integer>(Arrays.asList(6,0,0,0)));
+        assertTrue(areEqual(board.getBoard(), expected));
+        assertTrue(board.getScore() == 36);
+    }
+
+    @Test
+    //Boundary Case: The largest custom board with the largest base number
+    public void customSize_test1(){
+        board = new BoardT(10,10);
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        for (int i = 0; i < 10; i++){
+            values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0,0,0,0,0,0,0)));
+        }
+        values.set(0, new ArrayList<Integer>(Arrays.asList(10,0,10,20,0,20,40,40,40,0)));
+        values.set(9, new ArrayList<Integer>(Arrays.asList(10,0,0,0,0,0,0,0,0,0)));
+        board.setBoard(values);
+        board.move(DirectionT.Left);
+        assertTrue(board.getBoard().get(0).equals(Arrays.asList(20,40,80,40,0,0,0,0,0,0)));
+        board.move(DirectionT.Up);
+        assertTrue(board.getBoard().get(0).get(0) == 20 && board.getBoard().get(1).get(0) == 10);
+        assertTrue(board.getScore() == 140);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    //Exception Case: A value that is not the base number times a power of two is not a tile
+    public void setBoard_test1(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,2,6,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        board.setBoard(values);
+    }
+
+    @Test
+    //Regular Test: Two boards with the same seed spawn the same tiles and end in the same position
+    public void seed_test1(){
+        BoardT a = new BoardT(5, 2, 42L);
+        BoardT b = new BoardT(5, 2, 42L);
+        DirectionT[] moves = DirectionT.values();
+        for (int i = 0; a.getStatus() && i < 200; i++) {
+            a.move(moves[i % 4]);
+            b.move(moves[i % 4]);
+            a.addCell();
+            b.addCell();
+        }
+        assertTrue(areEqual(a.getBoard(), b.getBoard()));
+        assertEquals(a.getScore(), b.getScore());
+    }
+
+    @Test
+    //Regular Test: A restored board has the same tiles and score, and spawns the same tiles from then on
+    public void snapshot_test1(){
+        for (int size : new int[]{4, 7}) {
+            BoardT saved = new BoardT(size, 3, 11L);
+            saved.move(DirectionT.Left);
+            saved.addCell();
+            ByteBuffer buffer = ByteBuffer.allocate(saved.getSnapshotBytes());
+            saved.writeSnapshot(buffer);
+            assertFalse(buffer.hasRemaining());
+            buffer.flip();
+            BoardT restored = BoardT.readSnapshot(buffer);
+            assertEquals(saved.getNumber(), restored.getNumber());
+            assertEquals(saved.getScore(), restored.getScore());
+            assertTrue(areEqual(saved.getBoard(), restored.getBoard()));
+            assertEquals(saved.addCell(), restored.addCell());
+            assertTrue(areEqual(saved.getBoard(), restored.getBoard()));
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    //Exception Case: A snapshot with a flipped bit fails its checksum
+    public void snapshot_test2(){
+        ByteBuffer buffer = ByteBuffer.allocate(board.getSnapshotBytes());
+        board.writeSnapshot(buffer);
+        buffer.put(10, (byte) (buffer.get(10) ^ 1));
+        buffer.flip();
+        BoardT.readSnapshot(buffer);
+    }
+
+    @Test
+    //Regular Test: Boards of different sizes saved together are loaded back in order
+    public void snapshot_test3() throws IOException {
+        List<BoardT> boards = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            boards.add(new BoardT(4 + i % 3, 2, i));
+        }
+        Path path = Files.createTempFile("boards", ".bin");
+        try {
+            BoardSnapshots.save(path, boards);
+            List<BoardT> loaded = BoardSnapshots.load(path);
+            assertEquals(boards.size(), loaded.size());
+            for (int i = 0; i < boards.size(); i++) {
+                assertTrue(areEqual(boards.get(i).getBoard(), loaded.get(i).getBoard()));
+                assertEquals(boards.get(i).addCell(), loaded.get(i).addCell());
+            }
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    //Regular Test: Moves and merges are told to listeners with the score each merge adds
+    public void listener_test1(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,2,4,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        board.setBoard(values);
+        List<String> events = new ArrayList<>();
+        board.addListener(new BoardListener() {
+            @Override
+            public void tileMoved(BoardT b, int fromX, int fromY, int toX, int toY, int value) {
+                events.add("moved " + fromX + fromY + " " + toX + toY + " " + value);
+            }
+
+            @Override
+            public void tilesMerged(BoardT b, int x, int y, int value, long scoreDelta) {
+                events.add("merged " + x + y + " " + value + " " + scoreDelta);
+            }
+        });
+        board.move(DirectionT.Left);
+        assertEquals(Arrays.asList("moved 01 00 2", "merged 00 4 4", "moved 02 01 4"), events);
+    }
+
+    @Test
+    //Regular Test: Following the events of a whole game rebuilds every position, and only the real board sends them
+    public void listener_test2(){
+        BoardT game = new BoardT(5, 2, 3L);
+        int[][] mirror = new int[5][5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                mirror[i][j] = game.getBoard().get(i).get(j);
+            }
+        }
+        long[] score = new long[1];
+        int[] over = new int[1];
+        game.addListener(new BoardListener() {
+            @Override
+            public void tileMoved(BoardT b, int fromX, int fromY, int toX, int toY, int value) {
+                assertEquals(value, mirror[fromX][fromY]);
+                mirror[fromX][fromY] = 0;
+                mirror[toX][toY] = value;
+            }
+
+            @Override
+            public void tilesMerged(BoardT b, int x, int y, int value, long scoreDelta) {
+                mirror[x][y] = value;
+                score[0] += scoreDelta;
+            }
+
+            @Override
+            public void tileSpawned(BoardT b, int x, int y, int value) {
+                mirror[x][y] = value;
+            }
+
+            @Override
+            public void gameOver(BoardT b) {
+                over[0]++;
+            }
+        });
+        Policy policy = Policy.random(3);
+        while (game.getStatus()) {
+            game.copy().move(DirectionT.Up);
+            game.move(policy.bestMove(game));
+            game.addCell();
+            for (int i = 0; i < 5; i++) {
+                for (int j = 0; j < 5; j++) {
+                    assertEquals((int) game.getBoard().get(i).get(j), mirror[i][j]);
+                }
+            }
+        }
+        assertEquals(game.getScore(), score[0]);
+        assertEquals(1, over[0]);
+    }
+
+    @Test
+    //Edge Case: A removed listener hears nothing more
+    public void listener_test3(){
+        int[] spawns = new int[1];
+        BoardListener listener = new BoardListener() {
+            @Override
+            public void tileSpawned(BoardT b, int x, int y, int value) {
+                spawns[0]++;
+            }
+        };
+        board.addListener(listener);
+        board.addCell();
+        board.removeListener(listener);
+        board.addCell();
+        assertEquals(1, spawns[0]);
+    }
+
+    @Test
+    //Edge Case: The events of moves that make and then merge the largest tile a packed 4x4 board holds match the board
+    public void listener_test4(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(16384,16384,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(32768,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        board.setBoard(values);
+        List<String> events = new ArrayList<>();
+        board.addListener(new BoardListener() {
+            @Override
+            public void tileMoved(BoardT b, int fromX, int fromY, int toX, int toY, int value) {
+                events.add("moved " + fromX + fromY + " " + toX + toY + " " + value);
+            }
+
+            @Override
+            public void tilesMerged(BoardT b, int x, int y, int value, long scoreDelta) {
+                events.add("merged " + x + y + " " + value + " " + scoreDelta);
+            }
+        });
+        board.move(DirectionT.Left);
+        assertEquals(Arrays.asList("moved 01 00 16384", "merged 00 32768 32768"), events);
+        assertEquals(32768, board.getBoard().get(0).get(0).intValue());
+        events.clear();
+        board.move(DirectionT.Up);
+        assertEquals(Arrays.asList("moved 10 00 32768", "merged 00 65536 65536", "moved 20 10 2"), events);
+        assertEquals(65536, board.getBoard().get(0).get(0).intValue());
+        assertEquals(2, board.getBoard().get(1).get(0).intValue());
+        assertEquals(32768 + 65536, board.getScore());
+    }
+
+    @Test
+    //Regular Test: A position has the same hash however it was reached, on the packed board and the byte array
+    public void hash_test1(){
+        for (int size : new int[]{4, 6}) {
+            BoardT game = new BoardT(size, 2, 11L);
+            Policy policy = Policy.random(11L);
+            for (int turn = 0; turn < 200 && game.getStatus(); turn++) {
+                game.move(policy.bestMove(game));
+                game.addCell();
+            }
+            BoardT same = new BoardT(size, 2);
+            same.setBoard(game.getBoard());
+            assertEquals(game.getHash(), same.getHash());
+            assertEquals(game.getHash(), game.copy().getHash());
+            same.move(DirectionT.Left);
+            same.move(DirectionT.Up);
+            if (!same.getBoard().equals(game.getBoard()))
+                assertNotEquals(game.getHash(), same.getHash());
+        }
+    }
+
+    @Test
+    //Regular Test: Every rotation and reflection of a board has the same canonical hash
+    public void hash_test2(){
+        for (int size : new int[]{4, 5}) {
+            ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                values.add(new ArrayList<Integer>());
+                for (int j = 0; j < size; j++) {
+                    values.get(i).add((i * size + j) % 3 == 0 ? 0 : 2 << ((i + 2 * j) % 5));
+                }
+            }
+            BoardT original = new BoardT(size, 2);
+            original.setBoard(values);
+            long canonical = original.getCanonicalHash();
+            ArrayList<ArrayList<Integer>> turned = values;
+            for (int turn = 0; turn < 4; turn++) {
+                turned = rotate(turned);
+                BoardT rotated = new BoardT(size, 2);
+                rotated.setBoard(turned);
+                BoardT mirrored = new BoardT(size, 2);
+                mirrored.setBoard(mirror(turned));
+                assertEquals(canonical, rotated.getCanonicalHash());
+                assertEquals(canonical, mirrored.getCanonicalHash());
+            }
+        }
+    }
+
+    @Test
+    //Regular Test: The canonical hash follows the board as it changes, and tells apart positions that are not symmetric
+    public void hash_test3(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,2,4,0,8)));
+        for (int i = 0; i < 4; i++) {
+            values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0,i == 2 ? 2 : 0)));
+        }
+        BoardT game = new BoardT(5, 2);
+        game.setBoard(values);
+        BoardT other = game.copy();
+        long before = game.getCanonicalHash();
+        game.move(DirectionT.Left);
+        assertNotEquals(before, game.getCanonicalHash());
+        assertEquals(before, other.getCanonicalHash());
+        BoardT mirrored = new BoardT(5, 2);
+        mirrored.setBoard(mirror(values));
+        mirrored.move(DirectionT.Right);
+        assertEquals(game.getCanonicalHash(), mirrored.getCanonicalHash());
+    }
+
+    @Test
+    //Regular Test: Every successor is the board that copying and moving would give, with the score that move gains
+    public void successors_test1(){
+        for (int size : new int[]{4, 5, 7}) {
+            BoardT game = new BoardT(size, 2, 21L);
+            Policy policy = Policy.random(21L);
+            BoardT[] into = new BoardT[4];
+            long[] gains = new long[4];
+            for (int turn = 0; turn < 300 && game.getStatus(); turn++) {
+                int moves = game.successors(into, gains);
+                assertEquals(game.getLegalMoves(), moves);
+                for (DirectionT direction : DirectionT.values()) {
+                    if ((moves & (1 << direction.ordinal())) == 0)
+                        continue;
+                    BoardT moved = game.copy();
+                    moved.move(direction);
+                    BoardT successor = into[direction.ordinal()];
+                    assertEquals(moved.getBoard(), successor.getBoard());
+                    assertEquals(moved.getScore(), successor.getScore());
+                    assertEquals(moved.getScore() - game.getScore(), gains[direction.ordinal()]);
+                    assertEquals(moved.getLegalMoves(), successor.getLegalMoves());
+                }
+                game.move(policy.bestMove(game));
+                game.addCell();
+            }
+        }
+    }
+
+    @Test
+    //Edge Case: The buffers are reused, illegal moves leave their successor alone and gain nothing, and the board is unchanged
+    public void successors_test2(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,2,0,0,0)));
+        for (int i = 0; i < 4; i++) {
+            values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0,0)));
+        }
+        BoardT game = new BoardT(5, 2);
+        game.setBoard(values);
+        BoardT[] into = new BoardT[4];
+        long[] gains = {9, 9, 9, 9};
+        int moves = game.successors(into, gains);
+        assertEquals(0, moves & (1 << DirectionT.Up.ordinal()));
+        assertNull(into[DirectionT.Up.ordinal()]);
+        assertEquals(0, gains[DirectionT.Up.ordinal()]);
+        assertEquals(4, gains[DirectionT.Left.ordinal()]);
+        BoardT left = into[DirectionT.Left.ordinal()];
+        game.successors(into, gains);
+        assertSame(left, into[DirectionT.Left.ordinal()]);
+        assertEquals(values, game.getBoard());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    //Exception Case: The buffers must have room for every direction
+    public void successors_test3(){
+        board.successors(new BoardT[3], new long[4]);
+    }
+
+    @Test
+    //Regular Test: Every empty cell gives both tiles in row order, and the probabilities of a board add up to 1
+    public void outcomes_test1(){
+        for (int size : new int[]{4, 6}) {
+            BoardT game = new BoardT(size, 3, 5L);
+            for (int turn = 0; turn < 10; turn++) {
+                game.move(Policy.pick(game.getLegalMoves(), new SplitRandom(turn)));
+                game.addCell();
+            }
+            SpawnOutcomes outcomes = new SpawnOutcomes(game);
+            double total = 0;
+            int count = 0;
+            int last = -1;
+            while (outcomes.next()) {
+                assertEquals(0, game.getExponent(outcomes.getX(), outcomes.getY()));
+                assertEquals(outcomes.getX() * size + outcomes.getY(), outcomes.getCell());
+                assertTrue(outcomes.getCell() > last || outcomes.getExponent() == 2);
+                assertEquals(outcomes.getExponent() == 1 ? 3 : 6, outcomes.getValue());
+                last = outcomes.getCell();
+                total += outcomes.getProbability();
+                count++;
+            }
+            assertEquals(2 * game.getEmptyCount(), count);
+            assertEquals(count, outcomes.getCount());
+            assertEquals(1.0, total, 1e-9);
+        }
+    }
+
+    @Test
+    //Regular Test: Each outcome played onto a board is the same as adding that tile, and packs to the same long
+    public void outcomes_test2(){
+        BoardT child = null;
+        SpawnOutcomes outcomes = new SpawnOutcomes(board);
+        while (outcomes.next()) {
+            BoardT expected = board.copy();
+            expected.addCell(outcomes.getX(), outcomes.getY(), outcomes.getExponent());
+            child = outcomes.apply(child);
+            assertEquals(expected.getBoard(), child.getBoard());
+            assertEquals(expected.key(), outcomes.getPacked());
+        }
+        assertEquals(2, 16 - board.getEmptyCount());
+    }
+
+    @Test (expected = IllegalStateException.class)
+    //Exception Case: Only the classic board has packed outcomes
+    public void outcomes_test3(){
+        SpawnOutcomes outcomes = new SpawnOutcomes(new BoardT(5, 2));
+        outcomes.next();
+        outcomes.getPacked();
+    }
+
+    @Test
+    //Edge Case: Two 4x4 tiles of number * 2^14 still merge, as they do on every other size
+    public void maxTile_test1(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(32768,32768,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4,2,4,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4)));
+        board.setBoard(values);
+        assertTrue(board.canMove(DirectionT.Left));
+        BoardT[] successors = new BoardT[4];
+        long[] gains = new long[4];
+        board.successors(successors, gains);
+        board.move(DirectionT.Left);
+        ArrayList<ArrayList<Integer>> expected = new ArrayList<>();
+        expected.add(new ArrayList<Integer>(Arrays.asList(65536,0,0,0)));
+        expected.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4)));
+        expected.add(new ArrayList<Integer>(Arrays.asList(4,2,4,2)));
+        expected.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4)));
+        assertTrue(areEqual(board.getBoard(), expected));
+        assertEquals(65536, board.getScore());
+        assertEquals(65536, gains[DirectionT.Left.ordinal()]);
+        assertTrue(areEqual(successors[DirectionT.Left.ordinal()].getBoard(), expected));
+    }
+
+    @Test
+    //Edge Case: A 4x4 board holding a tile too large for the packed board is saved, restored and played on
+    public void maxTile_test2(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(65536,0,0,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,2)));
+        board.setBoard(values);
+        assertEquals(16, board.getMaxExponent());
+        ByteBuffer buffer = ByteBuffer.allocate(board.getSnapshotBytes());
+        board.writeSnapshot(buffer);
+        buffer.flip();
+        BoardT restored = BoardT.readSnapshot(buffer);
+        assertTrue(areEqual(board.getBoard(), restored.getBoard()));
+        BoardT moved = restored.copy();
+        moved.move(DirectionT.Down);
+        assertEquals(4, moved.getBoard().get(3).get(3).intValue());
+        assertEquals(65536, moved.getBoard().get(3).get(0).intValue());
+        assertEquals(board.addCell(), restored.addCell());
+    }
+
     //Local Functions
+
+    //Turns a grid a quarter turn clockwise
+    private ArrayList<ArrayList<Integer>> rotate(ArrayList<ArrayList<Integer>> arr) {
+        ArrayList<ArrayList<Integer>> turned = new ArrayList<>();
+        for (int i = 0; i < arr.size(); i++) {
+            turned.add(new ArrayList<Integer>());
+            for (int j = 0; j < arr.size(); j++) {
+                turned.get(i).add(arr.get(arr.size() - 1 - j).get(i));
+            }
+        }
+        return turned;
+    }
+
+    //Reverses every row of a grid
+    private ArrayList<ArrayList<Integer>> mirror(ArrayList<ArrayList<Integer>> arr) {
+        ArrayList<ArrayList<Integer>> mirrored = new ArrayList<>();
+        for (ArrayList<Integer> row : arr) {
+            ArrayList<Integer> copy = new ArrayList<Integer>(row);
+            Collections.reverse(copy);
+            mirrored.add(copy);
+        }
+        return mirrored;
+    }
+
     private void print(ArrayList<ArrayList<Integer>> arr) {
         for (int i = 0; i < arr.size(); i++) {
             System.out.println(arr.get(i).toString());
@@ -0,0 +1,133 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the EngineMetrics, MetricsRegistry and LatencyHistogram
+ */
+
+package src;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TestEngineMetrics {
+    BoardT board;
+    MetricsRegistry registry;
+
+    @Before
+    public void setup(){
+        board = new BoardT(4,2);
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,2,4,4)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        board.setBoard(values);
+        registry = EngineMetrics.registry();
+        EngineMetrics.reset();
+        EngineMetrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown(){
+        EngineMetrics.setEnabled(false);
+        EngineMetrics.reset();
+        board = null;
+        registry = null;
+    }
+
+    @Test
+    //Regular Test: Moves, merges, spawns and rejected moves are counted, and every call is timed
+    public void count_test1(){
+        assertFalse(board.canMove(DirectionT.Up));
+        board.move(DirectionT.Left);
+        board.addCell();
+        board.getStatus();
+        assertEquals(1, registry.get("board_moves_left_total"));
+        assertEquals(0, registry.get("board_moves_up_total"));
+        assertEquals(2, registry.get("board_merges_total"));
+        assertEquals(1, registry.get("board_spawns_total"));
+        assertEquals(1, registry.get("board_rejected_moves_total"));
+        assertEquals(1, registry.get("board_move_nanoseconds"));
+        assertEquals(1, registry.get("board_add_cell_nanoseconds"));
+        assertEquals(1, registry.get("board_get_status_nanoseconds"));
+    }
+
+    @Test
+    //Regular Test: Every game played to the end is counted once, and nothing is counted while measuring is off
+    public void count_test2(){
+        for (int g = 0; g < 3; g++) {
+            BoardT game = new BoardT(4, 2, g);
+            Policy policy = Policy.random(g);
+            while (game.getStatus()) {
+                game.move(policy.bestMove(game));
+                game.addCell();
+            }
+        }
+        assertEquals(3, registry.get("board_games_finished_total"));
+        long moves = registry.get("board_moves_left_total");
+        EngineMetrics.setEnabled(false);
+        board.move(DirectionT.Left);
+        assertEquals(moves, registry.get("board_moves_left_total"));
+    }
+
+    @Test
+    //Regular Test: The positions solvers play out are not counted as moves or spawns of the game
+    public void count_test3(){
+        new ExpectimaxSolver(2).bestMove(board);
+        MonteCarloSolver montecarlo = new MonteCarloSolver(16, 1000, true, 1);
+        montecarlo.bestMove(board);
+        montecarlo.close();
+        Policy.greedy(1L).bestMove(board);
+        for (DirectionT direction : DirectionT.values()) {
+            assertEquals(0, registry.get("board_moves_" + direction.name().toLowerCase() + "_total"));
+        }
+        assertEquals(0, registry.get("board_spawns_total"));
+        assertEquals(0, registry.get("board_rejected_moves_total"));
+        assertEquals(0, registry.get("board_games_finished_total"));
+        board.move(DirectionT.Left);
+        assertEquals(1, registry.get("board_moves_left_total"));
+    }
+
+    @Test
+    //Regular Test: The registry is only served to this machine unless an address is given
+    public void serve_test1() throws IOException {
+        HttpServer server = registry.serve(0);
+        try {
+            assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+        }
+        finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    //Regular Test: Scrapes hold every metric in the Prometheus text format
+    public void scrape_test1(){
+        board.move(DirectionT.Right);
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("# TYPE board_moves_right_total counter\nboard_moves_right_total 1\n"));
+        assertTrue(scrape.contains("# TYPE board_move_nanoseconds histogram\n"));
+        assertTrue(scrape.contains("board_move_nanoseconds_bucket{le=\"+Inf\"} 1\n"));
+        assertTrue(scrape.contains("board_move_nanoseconds_count 1\n"));
+    }
+
+    @Test
+    //Regular Test: Percentiles are the upper bound of the bucket they fall in
+    public void histogram_test1(){
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i <= 90 ? 100 : 5000);
+        }
+        assertEquals(127, histogram.getPercentile(50));
+        assertEquals(127, histogram.getPercentile(90));
+        assertEquals(5000, histogram.getPercentile(99));
+        assertEquals(90 * 100 + 10 * 5000, histogram.getSum());
+    }
+}
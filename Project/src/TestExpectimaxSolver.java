@@ -0,0 +1,232 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the ExpectimaxSolver and the TranspositionTables it searches with
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TestExpectimaxSolver {
+    BoardT board;
+    ExpectimaxSolver solver;
+
+    @Before
+    public void setup(){
+        board = new BoardT(4,2);
+        solver = new ExpectimaxSolver(2, Heuristic.DEFAULT, new ArrayTranspositionTable(1024));
+    }
+
+    @After
+    public void tearDown(){
+        board = null;
+        solver = null;
+    }
+
+    @Test
+    //Edge Case: A board that cannot move has no best move
+    public void bestMove_test1(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(4,2,4,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(16,8,16,8)));
+        values.add(new ArrayList<Integer>(Arrays.asList(32,16,32,16)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4096,2048,4096,2048)));
+        board.setBoard(values);
+        assertNull(solver.bestMove(board));
+    }
+
+    @Test
+    //Regular Test: Only a legal move should be picked, and the board left alone
+    public void bestMove_test2(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4,2,4,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,2,4)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,2,4,2)));
+        board.setBoard(values);
+        DirectionT direction = solver.bestMove(board);
+        assertTrue(direction == DirectionT.Left || direction == DirectionT.Down);
+        assertTrue(board.getBoard().get(3).get(0) == 0);
+    }
+
+    @Test
+    //Regular Test: The solver should play a custom board until no move is left
+    public void bestMove_test3(){
+        board = new BoardT(5,3);
+        solver = new ExpectimaxSolver(1);
+        while (board.getStatus()){
+            DirectionT direction = solver.bestMove(board);
+            assertTrue(board.canMove(direction));
+            board.move(direction);
+            board.addCell();
+        }
+        assertTrue(board.getScore() > 0);
+    }
+
+    @Test
+    //Regular Test: The parallel search should only pick legal moves, also on a custom board
+    public void parallel_test1(){
+        ParallelExpectimaxSolver parallel = new ParallelExpectimaxSolver(2, Heuristic.DEFAULT,
+                new ConcurrentTranspositionTable(1024), 4, 2);
+        board = new BoardT(6,2);
+        for (int i = 0; i < 20 && board.getStatus(); i++){
+            DirectionT direction = parallel.bestMove(board);
+            assertTrue(board.canMove(direction));
+            board.move(direction);
+            board.addCell();
+        }
+        parallel.shutdown();
+    }
+
+    @Test
+    //Regular Test: The move picked is stored with the root, for either kind of table
+    public void bestMove_test4(){
+        board = new BoardT(4,2,3L);
+        board.addCell();
+        DirectionT direction = solver.bestMove(board);
+        assertEquals(direction, solver.getTable().getBest(ExpectimaxSolver.playerKey(board)));
+        ParallelExpectimaxSolver parallel = new ParallelExpectimaxSolver(2, Heuristic.DEFAULT,
+                new OffHeapTranspositionTable(1 << 20), 2, 1);
+        direction = parallel.bestMove(board);
+        assertEquals(direction, parallel.getTable().getBest(ExpectimaxSolver.playerKey(board)));
+        parallel.shutdown();
+    }
+
+    @Test
+    //Regular Test
+    public void table_test1(){
+        ArrayTranspositionTable table = new ArrayTranspositionTable(100);
+        assertTrue(table.capacity() == 128);
+        table.put(42L, 3, 1.5);
+        assertTrue(table.get(42L, 3) == 1.5);
+        assertTrue(table.get(42L, 2) == 1.5);
+        //A deeper search than the one stored cannot use the entry
+        assertTrue(Double.isNaN(table.get(42L, 4)));
+        assertTrue(Double.isNaN(table.get(43L, 1)));
+    }
+
+    @Test
+    //Regular Test: The heap tables keep the best move with the value, and lose it with the entry
+    public void table_test5(){
+        ArrayTranspositionTable table = new ConcurrentTranspositionTable(4);
+        table.put(1L, 2, 0.5, DirectionT.Up);
+        table.put(2L, 2, 0.25);
+        assertEquals(DirectionT.Up, table.getBest(1L));
+        assertNull(table.getBest(2L));
+        table.newSearch();
+        //A key that shares the slot of the first replaces it once its search is over
+        long other = 1L;
+        while (other == 1L || table.slot(other) != table.slot(1L)) {
+            other++;
+        }
+        table.put(other, 1, 1.0, DirectionT.Right);
+        assertNull(table.getBest(1L));
+        assertEquals(DirectionT.Right, table.getBest(other));
+    }
+
+    @Test
+    //Edge Case: Depths past 127 still compare as deeper than the ones below them
+    public void table_test6(){
+        ArrayTranspositionTable table = new ArrayTranspositionTable(4);
+        table.put(1L, 200, 0.5);
+        assertTrue(table.get(1L, 150) == 0.5);
+        assertTrue(Double.isNaN(table.get(1L, 201)));
+        //A shallower search of a key that shares the slot does not replace it in the same search
+        long other = 2L;
+        while (table.slot(other) != table.slot(1L)) {
+            other++;
+        }
+        table.put(other, 100, 1.0);
+        assertTrue(table.get(1L, 200) == 0.5);
+        assertTrue(Double.isNaN(table.get(other, 0)));
+    }
+
+    @Test
+    //Regular Test: The off-heap table keeps values and best moves, and counts what happened to them
+    public void table_test2(){
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(1000);
+        assertEquals(32, table.capacity());
+        assertEquals(32 * OffHeapTranspositionTable.ENTRY_BYTES, table.getBytes());
+        table.put(42L, 3, 1.5, DirectionT.Left);
+        table.put(7L, 1, -2.25);
+        assertTrue(table.get(42L, 3) == 1.5);
+        assertTrue(table.get(7L, 1) == -2.25);
+        assertTrue(Double.isNaN(table.get(42L, 4)));
+        assertEquals(DirectionT.Left, table.getBest(42L));
+        assertNull(table.getBest(7L));
+        assertNull(table.getBest(8L));
+        assertEquals(2, table.getHits());
+        assertEquals(1, table.getMisses());
+    }
+
+    @Test
+    //Edge Case: A full bucket replaces entries of earlier searches before shallower ones of this search
+    public void table_test3(){
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(4 * OffHeapTranspositionTable.ENTRY_BYTES);
+        for (long key = 1; key <= 4; key++) {
+            table.put(key, (int) key + 1, key);
+        }
+        table.newSearch();
+        table.put(5L, 1, 5.0);
+        table.put(6L, 1, 6.0);
+        assertEquals(2, table.getOverwrites());
+        assertTrue(table.get(5L, 1) == 5.0);
+        assertTrue(table.get(6L, 1) == 6.0);
+        //Every entry is now deeper or from this search, so a shallow store of another position is dropped
+        for (long key = 3; key <= 6; key++) {
+            table.put(key, 9, key);
+        }
+        table.put(7L, 1, 7.0);
+        assertTrue(Double.isNaN(table.get(7L, 1)));
+        assertEquals(2, table.getOverwrites());
+        assertEquals(1, table.getCollisions());
+    }
+
+    @Test
+    //Regular Test: Threads storing and reading at once never read a value stored for another position
+    public void table_test4() throws InterruptedException {
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(1 << 12);
+        boolean[] wrong = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            SplitRandom random = new SplitRandom(t);
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200000; i++) {
+                    long key = random.nextInt(5000);
+                    double value = table.get(key, 1);
+                    if (!Double.isNaN(value) && value != key * 0.5)
+                        wrong[0] = true;
+                    table.put(key, 1 + random.nextInt(3), key * 0.5);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(wrong[0]);
+        assertTrue(table.getHits() > 0);
+    }
+
+    @Test
+    //Regular Test: The parallel search can share an off-heap table between its threads
+    public void parallel_test2(){
+        ParallelExpectimaxSolver parallel = new ParallelExpectimaxSolver(2, Heuristic.DEFAULT,
+                new OffHeapTranspositionTable(1 << 20), 4, 2);
+        board = new BoardT(5,2);
+        for (int i = 0; i < 20 && board.getStatus(); i++){
+            DirectionT direction = parallel.bestMove(board);
+            assertTrue(board.canMove(direction));
+            board.move(direction);
+            board.addCell();
+        }
+        parallel.shutdown();
+    }
+}
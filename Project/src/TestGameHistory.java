@@ -0,0 +1,169 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the GameHistory
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TestGameHistory {
+    GameHistory full;
+    GameHistory deltas;
+
+    @Before
+    public void setup(){
+        full = new GameHistory(64 * 1024, false);
+        deltas = new GameHistory(64 * 1024, true);
+    }
+
+    @After
+    public void tearDown(){
+        full = null;
+        deltas = null;
+    }
+
+    @Test
+    //Regular Test: Undoing every turn goes back through the very same positions, random stream included, and redoing goes forward again
+    public void undo_test1(){
+        for (GameHistory history : new GameHistory[]{full, deltas}) {
+            for (int size : new int[]{4, 7}) {
+                ArrayList<byte[]> played = play(history, new BoardT(size, 2, 31L), 60);
+                for (int turn = played.size() - 2; turn >= 0; turn--) {
+                    assertArrayEquals(played.get(turn), snapshot(history.undo()));
+                }
+                assertNull(history.undo());
+                for (int turn = 1; turn < played.size(); turn++) {
+                    assertArrayEquals(played.get(turn), snapshot(history.redo()));
+                }
+                assertNull(history.redo());
+                assertEquals(played.size() - 1, history.getUndoCount());
+            }
+        }
+    }
+
+    @Test
+    //Regular Test: A turn played after an undo drops the turns that were undone
+    public void redo_test1(){
+        for (GameHistory history : new GameHistory[]{full, deltas}) {
+            BoardT board = new BoardT(6, 3, 8L);
+            ArrayList<byte[]> played = play(history, board, 20);
+            history.undo();
+            history.undo();
+            BoardT branch = history.undo();
+            assertEquals(3, history.getRedoCount());
+            assertArrayEquals(played.get(played.size() - 4), snapshot(branch));
+            DirectionT direction = Policy.greedy(8L).bestMove(branch);
+            branch.move(direction);
+            branch.addCell();
+            history.record(branch);
+            assertEquals(0, history.getRedoCount());
+            assertEquals(played.size() - 3, history.getUndoCount());
+            assertNull(history.redo());
+            assertArrayEquals(played.get(played.size() - 4), snapshot(history.undo()));
+        }
+    }
+
+    @Test
+    //Edge Case: A full history drops its oldest turns and never grows past its buffer, and deltas keep more turns in it on large boards
+    public void bounded_test1(){
+        BoardT board = new BoardT(8, 2, 5L);
+        GameHistory small = new GameHistory(20 * board.getSnapshotBytes(), false);
+        GameHistory smallDeltas = new GameHistory(20 * board.getSnapshotBytes(), true);
+        ArrayList<byte[]> played = play(small, board.copy(), 200);
+        play(smallDeltas, board.copy(), 200);
+        assertEquals(200, played.size() - 1);
+        assertTrue(small.getUndoCount() < 20);
+        assertTrue(small.getBytes() <= small.capacity());
+        assertTrue(smallDeltas.getBytes() <= smallDeltas.capacity());
+        assertTrue(smallDeltas.getUndoCount() > 2 * small.getUndoCount());
+        int kept = small.getUndoCount();
+        BoardT oldest = null;
+        for (BoardT previous = small.undo(); previous != null; previous = small.undo()) {
+            oldest = previous;
+        }
+        assertArrayEquals(played.get(played.size() - 1 - kept), snapshot(oldest));
+    }
+
+    @Test
+    //Edge Case: A 4x4 board that outgrows its packed long, and so writes longer snapshots, is undone and redone across it
+    public void unpack_test1(){
+        for (GameHistory history : new GameHistory[]{full, deltas}) {
+            BoardT board = new BoardT(4, 2, 6L);
+            ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+            values.add(new ArrayList<Integer>(Arrays.asList(8192,8192,0,0)));
+            values.add(new ArrayList<Integer>(Arrays.asList(16384,0,0,0)));
+            values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+            values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+            board.setBoard(values);
+            history.start(board);
+            ArrayList<byte[]> played = new ArrayList<byte[]>();
+            played.add(snapshot(board));
+            for (DirectionT direction : new DirectionT[]{DirectionT.Left, DirectionT.Up, DirectionT.Right}) {
+                board.move(direction);
+                board.addCell();
+                history.record(board);
+                played.add(snapshot(board));
+            }
+            assertEquals(15, board.getMaxExponent());
+            assertTrue(played.get(0).length < played.get(2).length);
+            for (int turn = played.size() - 2; turn >= 0; turn--) {
+                assertArrayEquals(played.get(turn), snapshot(history.undo()));
+            }
+            for (int turn = 1; turn < played.size(); turn++) {
+                assertArrayEquals(played.get(turn), snapshot(history.redo()));
+            }
+        }
+    }
+
+    @Test
+    //Regular Test: A 10x10 delta, with its score, random state and empty cells, is about a third of a snapshot
+    public void bytes_test1(){
+        BoardT board = new BoardT(10, 2, 7L);
+        play(full, board.copy(), 200);
+        ArrayList<byte[]> played = play(deltas, board.copy(), 200);
+        int turns = played.size() - 1;
+        long snapshot = board.getSnapshotBytes();
+        assertEquals(turns * (snapshot + 8), full.getBytes());
+        assertTrue(deltas.getBytes() < turns * snapshot * 2 / 5);
+        assertTrue(deltas.getBytes() > turns * snapshot / 4);
+    }
+
+    @Test (expected = IllegalStateException.class)
+    //Exception Case: Turns can only be recorded once the history has been started
+    public void record_test1(){
+        full.record(new BoardT(4, 2));
+    }
+
+    //Local Functions
+
+    //Starts a history on a board and plays turns on it, giving back the snapshot of every position from the first
+    private ArrayList<byte[]> play(GameHistory history, BoardT board, int turns) {
+        ArrayList<byte[]> played = new ArrayList<byte[]>();
+        history.start(board);
+        played.add(snapshot(board));
+        Policy policy = Policy.random(turns);
+        for (int turn = 0; turn < turns && board.getStatus(); turn++) {
+            board.move(policy.bestMove(board));
+            board.addCell();
+            history.record(board);
+            played.add(snapshot(board));
+        }
+        return played;
+    }
+
+    //Writes the whole state of a board into an array
+    private byte[] snapshot(BoardT board) {
+        byte[] bytes = new byte[board.getSnapshotBytes()];
+        board.writeSnapshot(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the GameRecorder and GameReplay
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestGameReplay {
+    Path path;
+
+    @Before
+    public void setup() throws IOException {
+        path = Files.createTempFile("games", ".bin");
+        Files.delete(path);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+        path = null;
+    }
+
+    @Test
+    //Regular Test: Games of different sizes end in the same position when replayed
+    public void replay_test1() throws IOException {
+        List<BoardT> played = new ArrayList<>();
+        GameRecorder recorder = new GameRecorder();
+        try (FileChannel file = GameRecorder.openFile(path)) {
+            int[] sizes = {4, 5, 6, 4, 6};
+            for (int g = 0; g < sizes.length; g++) {
+                played.add(play(recorder, file, sizes[g], g));
+            }
+        }
+        try (GameReplay replay = new GameReplay(path)) {
+            for (BoardT board : played) {
+                assertTrue(replay.nextGame());
+                assertEquals(board.getSize(), replay.getBoard().getSize());
+                BoardT end = replay.replay();
+                assertEquals(board.getBoard(), end.getBoard());
+                assertEquals(board.getScore(), end.getScore());
+                assertFalse(end.getStatus());
+            }
+            assertFalse(replay.nextGame());
+        }
+    }
+
+    @Test
+    //Edge Case: Games recorded into a file that already exists are added after the ones already in it
+    public void replay_test2() throws IOException {
+        GameRecorder recorder = new GameRecorder();
+        try (FileChannel file = GameRecorder.openFile(path)) {
+            play(recorder, file, 4, 1);
+        }
+        BoardT last;
+        try (FileChannel file = GameRecorder.openFile(path)) {
+            last = play(recorder, file, 5, 2);
+        }
+        try (GameReplay replay = new GameReplay(path)) {
+            assertTrue(replay.nextGame());
+            assertTrue(replay.nextGame());
+            assertEquals(2, replay.getSeed());
+            int turns = 0;
+            while (replay.nextTurn()) {
+                turns++;
+            }
+            assertEquals(replay.getTurns(), turns);
+            assertEquals(last.getScore(), replay.getBoard().getScore());
+            assertFalse(replay.nextGame());
+        }
+    }
+
+    @Test (expected = IOException.class)
+    //Exception Case: A file that was not written by a GameRecorder
+    public void replay_test3() throws IOException {
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6});
+        new GameReplay(path).close();
+    }
+
+    //Plays a random game to the end while recording it
+    private BoardT play(GameRecorder recorder, FileChannel file, int size, long seed) throws IOException {
+        BoardT board = new BoardT(size, 2, seed);
+        Policy policy = Policy.random(seed);
+        recorder.begin(board, seed);
+        while (board.getStatus()) {
+            DirectionT direction = policy.bestMove(board);
+            board.move(direction);
+            int cell = board.addCell();
+            recorder.turn(direction, cell, board.getExponent(cell / size, cell % size));
+        }
+        recorder.finish(file);
+        return board;
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the GameSession, SessionManager and GameServer
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class TestGameServer {
+    SessionManager sessions;
+    GameServer server;
+    Thread acceptor;
+
+    @Before
+    public void setup() throws IOException {
+        sessions = new SessionManager(4, 2);
+        server = new GameServer(0, sessions, Executors.newCachedThreadPool());
+        acceptor = new Thread(() -> {
+            try {
+                server.serve();
+            }
+            catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        acceptor.join();
+        server = null;
+        sessions = null;
+    }
+
+    @Test
+    //Regular Test: A new game of a chosen size replaces the board of the session
+    public void handle_test1(){
+        GameSession session = sessions.open();
+        StringBuilder out = new StringBuilder();
+        assertTrue(session.handle("n 6 3", out));
+        assertEquals(6, session.getBoard().getSize());
+        assertEquals(3, session.getBoard().getNumber());
+        assertEquals(2, session.getGames());
+        assertTrue(out.toString().contains("New Game"));
+    }
+
+    @Test
+    //Edge Case: Invalid commands and sizes leave the game as it was
+    public void handle_test2(){
+        GameSession session = sessions.open();
+        BoardT board = session.getBoard();
+        StringBuilder out = new StringBuilder();
+        assertTrue(session.handle("x", out));
+        assertTrue(out.toString().contains("Invalid Input"));
+        assertTrue(session.handle("n 11", out));
+        assertTrue(out.toString().contains("Size must be between 4 and 10 (inclusive)"));
+        assertSame(board, session.getBoard());
+        assertFalse(session.handle("q", out));
+    }
+
+    @Test
+    //Regular Test: Two connections play separate games, and their sessions are closed once they quit
+    public void serve_test1() throws Exception {
+        try (Socket first = connect(); Socket second = connect()) {
+            BufferedReader in1 = reader(first);
+            BufferedReader in2 = reader(second);
+            assertTrue(frame(in1).startsWith("Welcome to 2048"));
+            assertTrue(frame(in2).startsWith("Welcome to 2048"));
+            assertEquals(2, sessions.getOpenSessions());
+            PrintWriter out1 = writer(first);
+            for (String command : new String[]{"w", "a", "s", "d"}) {
+                out1.println(command);
+                assertTrue(frame(in1).startsWith("Score: "));
+            }
+            out1.println("q");
+            assertTrue(frame(in1).contains("Thank You For Playing"));
+            assertNull(in1.readLine());
+            PrintWriter out2 = writer(second);
+            out2.println("n 5");
+            assertTrue(frame(in2).contains("New Game"));
+        }
+        for (int i = 0; i < 100 && sessions.getOpenSessions() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, sessions.getOpenSessions());
+        assertEquals(2, sessions.getOpenedSessions());
+    }
+
+    @Test
+    //Edge Case: A connection that sends a line past the cap is dropped, while one at the cap is served
+    public void serve_test2() throws Exception {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            frame(in);
+            PrintWriter out = writer(socket);
+            out.println("x".repeat(256));
+            assertTrue(frame(in).contains("Invalid Input"));
+            out.print("x".repeat(1000));
+            out.flush();
+            assertTrue(closed(in));
+        }
+        for (int i = 0; i < 100 && sessions.getOpenSessions() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, sessions.getOpenSessions());
+    }
+
+    //Local Functions
+    private Socket connect() throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    private BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private PrintWriter writer(Socket socket) throws IOException {
+        return new PrintWriter(socket.getOutputStream(), true);
+    }
+
+    //Whether the server closed the connection, which resets it when the rest of the line was unread
+    private boolean closed(BufferedReader in) {
+        try {
+            return in.readLine() == null;
+        }
+        catch (IOException e) {
+            return true;
+        }
+    }
+
+    //Reads lines up to the blank line that ends every frame
+    private String frame(BufferedReader in) throws IOException {
+        StringBuilder frame = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty()) {
+            frame.append(line).append('\n');
+        }
+        return frame.toString();
+    }
+}
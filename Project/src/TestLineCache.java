@@ -0,0 +1,103 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the LineCache
+ */
+
+package src;
+
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+public class TestLineCache {
+    LineCache cache;
+
+    @Before
+    public void setup(){
+        cache = new LineCache(5, 4);
+    }
+
+    @After
+    public void tearDown(){
+        LineCache.setEnabled(false);
+        cache = null;
+    }
+
+    @Test
+    //Regular Test: A line is slid on its first lookup and found on the next, merging each tile at most once
+    public void lookup_test1(){
+        long key = pack(1, 1, 2, 0, 2);
+        int entry = cache.lookup(key);
+        assertEquals(pack(2, 3, 0, 0, 0), cache.line(entry));
+        assertEquals(2 + 4, cache.gain(entry));
+        assertEquals(entry, cache.lookup(key));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    //Edge Case: A line that cannot move slides to itself and gains nothing
+    public void lookup_test2(){
+        long key = pack(3, 1, 2, 1, 0);
+        int entry = cache.lookup(key);
+        assertEquals(key, cache.line(entry));
+        assertEquals(0, cache.gain(entry));
+        assertEquals(0, cache.opCount(entry));
+    }
+
+    @Test
+    //Edge Case: A full cache keeps the lines hit since the hand last passed them, and evicts the rest
+    public void evict_test1(){
+        for (int value = 1; value <= 4; value++) {
+            cache.lookup(pack(value, 0, 0, 0, 0));
+        }
+        cache.lookup(pack(1, 0, 0, 0, 0));
+        cache.lookup(pack(5, 0, 0, 0, 0));
+        assertEquals(1, cache.getEvictions());
+        cache.lookup(pack(1, 0, 0, 0, 0));
+        assertEquals(2, cache.getHits());
+        cache.lookup(pack(2, 0, 0, 0, 0));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    //Regular Test: Games of the same seed play out the same with the cache on or off
+    public void board_test1(){
+        for (int size = 5; size <= 10; size++) {
+            LineCache.setEnabled(false);
+            BoardT direct = play(size, size);
+            long hits = LineCache.totalHits();
+            LineCache.setEnabled(true);
+            BoardT cached = play(size, size);
+            assertEquals(direct.getBoard(), cached.getBoard());
+            assertEquals(direct.getScore(), cached.getScore());
+            assertEquals(direct.getEmptyCount(), cached.getEmptyCount());
+            assertTrue(LineCache.totalHits() > hits);
+        }
+    }
+
+    //Local Functions
+
+    //Packs the exponents of a line, the first cell lowest
+    private long pack(int... values){
+        long key = 0;
+        for (int k = 0; k < values.length; k++) {
+            key |= (long) values[k] << (k * LineCache.BITS);
+        }
+        return key;
+    }
+
+    //Plays a game of random moves from a seed, for at most 2000 moves
+    private BoardT play(int size, long seed){
+        BoardT board = new BoardT(size, 2, seed);
+        Policy policy = Policy.random(seed);
+        for (int turn = 0; turn < 2000 && board.getStatus(); turn++) {
+            board.move(policy.bestMove(board));
+            board.addCell();
+        }
+        return board;
+    }
+}
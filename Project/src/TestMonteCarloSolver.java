@@ -0,0 +1,98 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the MonteCarloSolver
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+
+public class TestMonteCarloSolver {
+    BoardT board;
+    MonteCarloSolver solver;
+
+    @Before
+    public void setup(){
+        board = new BoardT(4,2);
+        solver = new MonteCarloSolver(16, 1000, false, 2);
+    }
+
+    @After
+    public void tearDown(){
+        solver.close();
+        board = null;
+        solver = null;
+    }
+
+    @Test
+    //Edge Case: A board that cannot move has no best move
+    public void bestMove_test1(){
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(4,2,4,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(16,8,16,8)));
+        values.add(new ArrayList<Integer>(Arrays.asList(32,16,32,16)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4096,2048,4096,2048)));
+        board.setBoard(values);
+        assertNull(solver.bestMove(board));
+    }
+
+    @Test
+    //Regular Test: Random and greedy playouts should only pick legal moves and leave the board alone
+    public void bestMove_test2(){
+        MonteCarloSolver greedy = new MonteCarloSolver(16, 1000, true, 2);
+        for (int i = 0; i < 10; i++){
+            BoardT before = board.copy();
+            DirectionT direction = (i % 2 == 0 ? solver : greedy).bestMove(board);
+            assertEquals(before.getBoard(), board.getBoard());
+            assertEquals(before.getScore(), board.getScore());
+            assertTrue(board.canMove(direction));
+            board.move(direction);
+            board.addCell();
+        }
+        greedy.close();
+    }
+
+    @Test
+    //Edge Case: Playouts give up once the time budget is spent, even partway through a game
+    public void bestMove_test3(){
+        MonteCarloSolver slow = new MonteCarloSolver(1000000, 20, true, 2);
+        board = new BoardT(10,2);
+        long start = System.nanoTime();
+        DirectionT direction = slow.bestMove(board);
+        long millis = (System.nanoTime() - start) / 1000000;
+        slow.close();
+        assertTrue(board.canMove(direction));
+        assertTrue(millis < 2000);
+    }
+
+    @Test (expected = RejectedExecutionException.class)
+    //Exception Case: A closed solver has no threads left to play on
+    public void close_test1(){
+        solver.close();
+        solver.bestMove(board);
+    }
+
+    @Test
+    //Regular Test: A copy should follow its own moves without changing the original
+    public void copyFrom_test1(){
+        board = new BoardT(6,2);
+        BoardT other = new BoardT(6,2);
+        other.copyFrom(board);
+        assertTrue(other.getBoard().equals(board.getBoard()));
+        BoardT before = board.copy();
+        for (int i = 0; i < 50 && other.getStatus(); i++){
+            other.move(other.canMove(DirectionT.Left) ? DirectionT.Left : DirectionT.Up);
+            other.addCell();
+        }
+        assertEquals(before.getBoard(), board.getBoard());
+        assertTrue(other.getEmptyCount() < board.getEmptyCount());
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the NioGameServer
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class TestNioGameServer {
+    SessionManager sessions;
+    NioGameServer server;
+    Thread selector;
+
+    @Before
+    public void setup() throws IOException {
+        sessions = new SessionManager(4, 2);
+        server = new NioGameServer(0, sessions);
+        selector = new Thread(() -> {
+            try {
+                server.serve();
+            }
+            catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        selector.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        selector.join();
+        server = null;
+        sessions = null;
+    }
+
+    @Test
+    //Regular Test: Commands sent together in one write are each answered with a frame, in order
+    public void serve_test1() throws IOException {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            assertTrue(frame(in).startsWith("Welcome to 2048"));
+            OutputStream out = socket.getOutputStream();
+            out.write("w\r\na\ns\nd\nx\nn 6 3\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            for (int i = 0; i < 4; i++) {
+                assertTrue(frame(in).startsWith("Score: "));
+            }
+            assertTrue(frame(in).contains("Invalid Input"));
+            String frame = frame(in);
+            assertTrue(frame.contains("New Game"));
+            assertEquals(10, frame.split("\n").length);
+        }
+    }
+
+    @Test
+    //Edge Case: A command split across writes is only handled once its line ends, and quitting closes the connection
+    public void serve_test2() throws Exception {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            frame(in);
+            OutputStream out = socket.getOutputStream();
+            out.write('n');
+            out.flush();
+            Thread.sleep(50);
+            out.write(" 5\nq\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            assertTrue(frame(in).contains("New Game"));
+            assertTrue(frame(in).contains("Thank You For Playing"));
+            assertNull(in.readLine());
+        }
+        for (int i = 0; i < 100 && sessions.getOpenSessions() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, sessions.getOpenSessions());
+    }
+
+    @Test
+    //Regular Test: Many connections are served at once by the one thread
+    public void serve_test3() throws IOException {
+        Socket[] sockets = new Socket[50];
+        try {
+            for (int i = 0; i < sockets.length; i++) {
+                sockets[i] = connect();
+            }
+            for (Socket socket : sockets) {
+                BufferedReader in = reader(socket);
+                assertTrue(frame(in).startsWith("Welcome to 2048"));
+                socket.getOutputStream().write("w\n".getBytes(StandardCharsets.US_ASCII));
+                assertTrue(frame(in).startsWith("Score: "));
+            }
+            assertEquals(sockets.length, sessions.getOpenSessions());
+        }
+        finally {
+            for (Socket socket : sockets) {
+                if (socket != null)
+                    socket.close();
+            }
+        }
+    }
+
+    @Test
+    //Edge Case: A client that sends many commands without reading gets every frame once it reads them
+    public void serve_test4() throws Exception {
+        int commands = 20000;
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            frame(in);
+            Thread writer = new Thread(() -> {
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    for (int i = 0; i < commands; i++) {
+                        out.write(i % 2 == 0 ? 'w' : 's');
+                        out.write('\n');
+                    }
+                    out.flush();
+                }
+                catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            writer.start();
+            //Lets the output pile up before anything is read, so the server stops handling commands
+            Thread.sleep(200);
+            for (int i = 0; i < commands; i++) {
+                assertTrue(frame(in).startsWith("Score: "));
+            }
+            writer.join();
+        }
+    }
+
+    @Test
+    //Exception Case: A command that breaks its session closes only its own connection
+    public void serve_test5() throws Exception {
+        SessionManager failing = new SessionManager(4, 2) {
+            private long id;
+
+            @Override
+            public GameSession open() {
+                return new GameSession(++id, 4, 2) {
+                    @Override
+                    public boolean handle(String command, StringBuilder out) {
+                        if (command.equals("boom"))
+                            throw new IllegalStateException("The session broke");
+                        return super.handle(command, out);
+                    }
+                };
+            }
+        };
+        NioGameServer other = new NioGameServer(0, failing);
+        Thread thread = new Thread(() -> {
+            try {
+                other.serve();
+            }
+            catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        try (Socket broken = connect(other); Socket healthy = connect(other)) {
+            BufferedReader brokenIn = reader(broken);
+            BufferedReader healthyIn = reader(healthy);
+            frame(brokenIn);
+            frame(healthyIn);
+            broken.getOutputStream().write("w\nboom\nw\n".getBytes(StandardCharsets.US_ASCII));
+            assertNull(brokenIn.readLine());
+            healthy.getOutputStream().write("w\n".getBytes(StandardCharsets.US_ASCII));
+            assertTrue(frame(healthyIn).startsWith("Score: "));
+        }
+        finally {
+            other.close();
+            thread.join();
+        }
+    }
+
+    //Local Functions
+    private Socket connect() throws IOException {
+        return connect(server);
+    }
+
+    private Socket connect(NioGameServer to) throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), to.getPort());
+    }
+
+    private BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+    }
+
+    //Reads lines up to the blank line that ends every frame
+    private String frame(BufferedReader in) throws IOException {
+        StringBuilder frame = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty()) {
+            frame.append(line).append('\n');
+        }
+        return frame.toString();
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Author: Mohammad Omar Zahir - zahirm1
+ * Revised: October 18, 2026
+ *
+ * Description: Test file for the PersistentBoard
+ */
+
+package src;
+
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TestPersistentBoard {
+    BoardT board;
+    PersistentBoard version;
+
+    @Before
+    public void setup(){
+        board = new BoardT(5,2);
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(2,2,4,0,8)));
+        values.add(new ArrayList<Integer>(Arrays.asList(2,4,8,16,32)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(4,0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0,2)));
+        board.setBoard(values);
+        version = PersistentBoard.of(board);
+    }
+
+    @After
+    public void tearDown(){
+        board = null;
+        version = null;
+    }
+
+    @Test
+    //Regular Test: Whole games play out the same as on a BoardT, move by move and spawn by spawn
+    public void move_test1(){
+        for (int size : new int[]{4, 6}) {
+            BoardT game = new BoardT(size, 2, 13L);
+            PersistentBoard persistent = PersistentBoard.of(game);
+            Policy policy = Policy.random(13L);
+            for (int turn = 0; turn < 500 && game.getStatus(); turn++) {
+                DirectionT direction = policy.bestMove(game);
+                game.move(direction);
+                persistent = persistent.move(direction);
+                int cell = game.addCell();
+                persistent = persistent.spawn(cell / size, cell % size, game.getExponent(cell / size, cell % size));
+                assertPosition(game, persistent);
+            }
+        }
+    }
+
+    @Test
+    //Regular Test: A move copies only the rows it changes, and leaves the version it came from as it was
+    public void share_test1(){
+        PersistentBoard moved = version.move(DirectionT.Left);
+        assertEquals(3, moved.sharedRows(version));
+        assertEquals(2, moved.getExponent(0, 0));
+        assertEquals(1, version.getExponent(0, 0));
+        assertEquals(board.getScore() + 4, moved.getScore());
+        assertPosition(board, version);
+        PersistentBoard spawned = moved.spawn(2, 2, 1);
+        assertEquals(4, spawned.sharedRows(moved));
+        assertEquals(0, moved.getExponent(2, 2));
+    }
+
+    @Test
+    //Edge Case: A move that changes nothing gives back the same version
+    public void move_test2(){
+        PersistentBoard corner = version.move(DirectionT.Up).move(DirectionT.Left);
+        while (corner.move(DirectionT.Up) != corner || corner.move(DirectionT.Left) != corner) {
+            corner = corner.move(DirectionT.Up).move(DirectionT.Left);
+        }
+        assertEquals(0, corner.getLegalMoves() & (1 << DirectionT.Up.ordinal() | 1 << DirectionT.Left.ordinal()));
+        assertTrue(version.move(DirectionT.Up) != version);
+    }
+
+    @Test
+    //Edge Case: The largest tiles of a 4x4 board merge past what its packed long holds, just as on a BoardT
+    public void move_test3(){
+        board = new BoardT(4,2);
+        ArrayList<ArrayList<Integer>> values = new ArrayList<>();
+        values.add(new ArrayList<Integer>(Arrays.asList(32768,32768,2,2)));
+        values.add(new ArrayList<Integer>(Arrays.asList(16384,16384,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        values.add(new ArrayList<Integer>(Arrays.asList(0,0,0,0)));
+        board.setBoard(values);
+        version = PersistentBoard.of(board);
+        board.move(DirectionT.Left);
+        version = version.move(DirectionT.Left);
+        assertEquals(16, version.getExponent(0, 0));
+        assertPosition(board, version);
+        assertPosition(version.toBoard(new SplitRandom(1)), version);
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    //Exception Case: Tiles only spawn in empty cells
+    public void spawn_test1(){
+        version.spawn(0, 0, 1);
+    }
+
+    @Test
+    //Regular Test: A version turned back into a BoardT has the same tiles and score, and takes over the stream untouched
+    public void toBoard_test1(){
+        PersistentBoard moved = version.move(DirectionT.Down);
+        SplitRandom stream = new SplitRandom(4);
+        BoardT restored = moved.toBoard(stream);
+        BoardT expected = board.copy();
+        expected.move(DirectionT.Down);
+        assertEquals(expected.getBoard(), restored.getBoard());
+        assertEquals(expected.getScore(), restored.getScore());
+        assertEquals(expected.getEmptyCount(), restored.getEmptyCount());
+        assertEquals(new SplitRandom(4).nextLong(), stream.copy().nextLong());
+        assertTrue(restored.addCell() >= 0);
+        assertEquals(expected.getEmptyCount() - 1, restored.getEmptyCount());
+    }
+
+    //Local Functions
+
+    //Checks that a persistent board holds the same position as a BoardT
+    private void assertPosition(BoardT expected, PersistentBoard actual) {
+        int size = expected.getSize();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                assertEquals(expected.getExponent(i, j), actual.getExponent(i, j));
+            }
+        }
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getEmptyCount(), actual.getEmptyCount());
+        assertEquals(expected.getLegalMoves(), actual.getLegalMoves());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.hasWon(), actual.hasWon());
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * @file TranspositionTable.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the table of positions that a solver has already searched.
+ * @date October 18, 2026
+ */
+
+package src;
+
+/**
+* @brief A bounded cache from position keys to search results, and the best move found for them.
+* @details Tables never grow past the size they were made with, so they may drop any entry to make
+* room for another. Entries stored by earlier searches are meant to be replaced first.
+*/
+public interface TranspositionTable {
+    /**
+     * @brief Starts a new search, so that entries from earlier searches are replaced first.
+     */
+    void newSearch();
+
+    /**
+     * @brief Looks up the value of a position.
+     * @param key The key of the position.
+     * @param depth The depth the position is to be searched to.
+     * @return The stored value, or NaN when the position was not searched at least that deep.
+     */
+    double get(long key, int depth);
+
+    /**
+     * @brief Stores the value of a position.
+     * @param key The key of the position.
+     * @param depth The depth the position was searched to.
+     * @param value The value found by the search.
+     */
+    default void put(long key, int depth, double value) {
+        put(key, depth, value, null);
+    }
+
+    /**
+     * @brief Stores the value of a position and the move found best for it.
+     * @param key The key of the position.
+     * @param depth The depth the position was searched to, from 0 to 255.
+     * @param value The value found by the search.
+     * @param best The best move from the position, or null when there is none.
+     */
+    void put(long key, int depth, double value, DirectionT best);
+
+    /**
+     * @brief Looks up the best move stored with a position.
+     * @param key The key of the position.
+     * @return The move, or null when the position is not stored or was stored without one.
+     */
+    DirectionT getBest(long key);
+
+    /**
+     * @brief Gets the number of entries the table can hold.
+     * @return The capacity of the table.
+     */
+    int capacity();
+}
@@ -19,6 +19,18 @@ import java.util.ArrayList;
 
 public class UserInterface {
     private static UserInterface visual = null;
+    //Draws frames when the terminal understands ANSI escape codes, null otherwise
+    private AnsiRenderer renderer = null;
+    //The welcome and controls, which also head every full ANSI frame so that they stay on the screen
+    private static final String WELCOME =
+        "-------------------------------------------\n" +
+        "              Welcome to 2048              \n" +
+        "-------------------------------------------\n";
+    private static final String CONTROLS =
+        "Basic Rules:\n" +
+        "New Game: n | Quit Game: q\n" +
+        "Move Up: w | Move Down: s | Move Right: d | Move left: a\n" +
+        "Undo: u | Redo: r\n";
     private UserInterface(){};
 
     public static UserInterface getInstance(){
@@ -31,18 +43,16 @@ public class UserInterface {
      * @brief Displays a welcome message.
      */
     public void printWelcomeMessage(){
-        System.out.println("-------------------------------------------");
-        System.out.println("              Welcome to 2048              ");
-        System.out.println("-------------------------------------------");
+        System.out.print(WELCOME);
+        printed();
     }
 
     /**
      * @brief Displays a prompt showing the controls of the game.
      */
     public void printGameControlsPrompt(){
-        System.out.println("Basic Rules:");
-        System.out.println("New Game: n | Quit Game: q");
-        System.out.println("Move Up: w | Move Down: s | Move Right: d | Move left: a");
+        System.out.print(CONTROLS);
+        printed();
     }
 
     /**
@@ -56,14 +66,27 @@ public class UserInterface {
      * @brief Displays a prompt showing the game over message.
      */
     public void printGameOver(){
-        System.out.println("!!!!!!!!!!!!!!!!!!! Game Over !!!!!!!!!!!!!!!!!!!!");
+        printMessage("!!!!!!!!!!!!!!!!!!! Game Over !!!!!!!!!!!!!!!!!!!!");
     }
 
     /**
      * @brief Displays a prompt showing the game win message.
      */
     public void printWin(){
-        System.out.println("~~~~~~~~~~~~~~~~~~~ You Won! ~~~~~~~~~~~~~~~~~~~~");
+        printMessage("~~~~~~~~~~~~~~~~~~~ You Won! ~~~~~~~~~~~~~~~~~~~~");
+    }
+
+    /**
+     * @brief Displays a status message about the game, such as a rejected input.
+     * @details With ANSI output on, the message goes on its own line below the board, where the
+     * next frames leave it until the board changes.
+     * @param message The message, on one line.
+     */
+    public void printMessage(String message){
+        if (renderer != null)
+            renderer.message(message);
+        else
+            System.out.println(message);
     }
 
     /**
@@ -73,6 +96,31 @@ public class UserInterface {
         System.out.println("-------------------------------------------------");
         System.out.println("             Thank You For Playing !!!           ");
         System.out.println("-------------------------------------------------");
+        printed();
+    }
+
+    /**
+     * @brief Turns redrawing only the changed cells of the board on or off.
+     * @param ansi Whether the terminal understands ANSI escape codes.
+     */
+    public void setAnsi(boolean ansi){
+        this.renderer = ansi ? new AnsiRenderer(System.out) : null;
+        if (renderer != null)
+            renderer.setHeader(WELCOME + CONTROLS);
+    }
+
+    /**
+     * @brief Displays the score and the board on the screen.
+     * @details With ANSI output on, only what changed since the last frame is redrawn.
+     * @param model The game board
+     */
+    public void printFrame(BoardT model){
+        if (renderer != null)
+            renderer.render(model);
+        else {
+            printScore(model);
+            printBoard(model);
+        }
     }
 
     /**
@@ -80,53 +128,60 @@ public class UserInterface {
      * @param model The game board
      */
     public static void printBoard(BoardT model) {
+        StringBuilder out = new StringBuilder();
+        appendBoard(model, out);
+        System.out.print(out);
+    }
+
+    /**
+     * @brief Writes the board as it is displayed on the screen, for sending it anywhere else.
+     * @param model The game board
+     * @param out The text the board is added to, one line per row and a border line above and below.
+     */
+    public static void appendBoard(BoardT model, StringBuilder out) {
         ArrayList<ArrayList<Integer>> board = model.getBoard();
-        System.out.print("||");
-        for (int i = 0; i < board.size()-1; i++){
-            System.out.print("|||||");
-            System.out.print("|");
-        }
-        System.out.print("|||||");
-        System.out.println("||");
+        border(board.size(), out);
         for (int i = 0; i < board.size(); i++) {
-            System.out.print("||");
+            out.append("||");
             for (int j = 0; j < board.size(); j++) {
                 int value = board.get(i).get(j);
                 int length = String.valueOf(value).length();
-                if (j == board.size()-1) {
-                    if (value == 0)
-                        System.out.print("     ");
-                    else{
-                        System.out.print(value);
-                        spaces(5-length);
-                    }
-                }
+                if (value == 0)
+                    out.append("     ");
                 else{
-                    if (value == 0)
-                        System.out.print("     |");
-                    else{
-                        System.out.print(value);
-                        spaces(5-length);
-                        System.out.print("|");
-                    }
+                    out.append(value);
+                    spaces(5-length, out);
                 }
+                if (j != board.size()-1)
+                    out.append("|");
             }
-            System.out.print("||");
-            System.out.println("");
+            out.append("||");
+            out.append("\n");
         }
-        System.out.print("||");
-        for (int i = 0; i < board.size()-1; i++){
-            System.out.print("|||||");
-            System.out.print("|");
+        border(board.size(), out);
+    }
+
+    //Used after printing anything other than a frame or a message, which moves the board on the screen
+    private void printed(){
+        if (renderer != null)
+            renderer.reset();
+    }
+
+    //Used for the solid line above and below the board
+    private static void border(int size, StringBuilder out){
+        out.append("||");
+        for (int i = 0; i < size-1; i++){
+            out.append("||||||");
         }
-        System.out.print("|||||");
-        System.out.println("||");
+        out.append("|||||");
+        out.append("||");
+        out.append("\n");
     }
 
     //Used for dynamically adjusting the spaces
-    private static void spaces(int l){
+    private static void spaces(int l, StringBuilder out){
         for (int i = 0; i < l; i++){
-            System.out.print(" ");
+            out.append(" ");
         }
     }
 }
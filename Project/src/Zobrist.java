@@ -0,0 +1,86 @@
+/**
+ * @file Zobrist.java
+ * @author Mohammad Omar Zahir - zahirm1
+ * @brief Contains the Zobrist keys that BoardT hashes boards other than the classic one with.
+ * @date October 18, 2026
+ */
+
+package src;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+* @brief A random 64-bit key for every exponent of every cell, shared by all boards of a size.
+* @details The hash of a board is the XOR of the keys of its tiles, so writing one cell changes the
+* hash by two XORs and an empty cell adds nothing. The keys of each size are drawn from a fixed seed
+* the first time a board of that size is made, so hashes are the same in every run. Exponents of 64
+* and up, which only very large boards reach, reuse the key of the exponent 64 below rotated by a bit.
+*/
+final class Zobrist {
+    //The exponents of a cell given keys of their own
+    private static final int EXPONENTS = 64;
+    //The keys of each size once made, only touched under the lock of the class
+    private static final Map<Integer, long[]> KEYS = new HashMap<Integer, long[]>();
+
+    private Zobrist() {}
+
+    /**
+     * @brief Gets the keys of a size of board.
+     * @param size The side of the board.
+     * @return The keys, 64 for each cell in row order, where the key of an empty cell is 0.
+     */
+    static synchronized long[] keys(int size) {
+        long[] keys = KEYS.get(size);
+        if (keys == null) {
+            keys = new long[size * size * EXPONENTS];
+            SplitRandom random = new SplitRandom(0x2048L * size);
+            for (int k = 0; k < keys.length; k++) {
+                keys[k] = k % EXPONENTS == 0 ? 0 : random.nextLong();
+            }
+            KEYS.put(size, keys);
+        }
+        return keys;
+    }
+
+    /**
+     * @brief Gets the key of one exponent in one cell.
+     * @param keys The keys of the size of board.
+     * @param cell The cell in row order.
+     * @param exponent The exponent in the cell, 0 when it is empty.
+     * @return The key to XOR into the hash.
+     */
+    static long key(long[] keys, int cell, int exponent) {
+        if (exponent < EXPONENTS)
+            return keys[cell * EXPONENTS + exponent];
+        return Long.rotateLeft(keys[cell * EXPONENTS + (exponent & (EXPONENTS - 1))], exponent / EXPONENTS);
+    }
+
+    /**
+     * @brief Hashes a board under all 8 rotations and reflections and keeps the smallest.
+     * @param keys The keys of the size of board.
+     * @param cells The exponents of the board in row order.
+     * @param size The side of the board.
+     * @return The same hash for a board and every board it can be turned or mirrored into.
+     */
+    static long canonical(long[] keys, byte[] cells, int size) {
+        long h0 = 0, h1 = 0, h2 = 0, h3 = 0, h4 = 0, h5 = 0, h6 = 0, h7 = 0;
+        int last = size - 1;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int exponent = cells[i * size + j];
+                if (exponent == 0)
+                    continue;
+                h0 ^= key(keys, i * size + j, exponent);
+                h1 ^= key(keys, j * size + (last - i), exponent);
+                h2 ^= key(keys, (last - i) * size + (last - j), exponent);
+                h3 ^= key(keys, (last - j) * size + i, exponent);
+                h4 ^= key(keys, i * size + (last - j), exponent);
+                h5 ^= key(keys, (last - i) * size + j, exponent);
+                h6 ^= key(keys, j * size + i, exponent);
+                h7 ^= key(keys, (last - j) * size + (last - i), exponent);
+            }
+        }
+        return Math.min(Math.min(Math.min(h0, h1), Math.min(h2, h3)), Math.min(Math.min(h4, h5), Math.min(h6, h7)));
+    }
+}